@@ -0,0 +1,32 @@
+package com.example.helpdeskticket;
+
+import java.util.List;
+
+// Datasource arguments for benchmarks that start the application: an in-memory H2 database by default, or the
+// database named by -Djmh.datasource.url (with -Djmh.datasource.username and -Djmh.datasource.password), e.g.
+// a scratch PostgreSQL database. Either way the schema is created from the entities and dropped on close.
+public final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {}
+
+    // Command-line arguments, so they override application.properties; name keeps H2 databases apart
+    public static List<String> arguments(String name) {
+        String url = System.getProperty("jmh.datasource.url", "");
+        if (url.isBlank()) {
+            return List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.flyway.enabled=false");
+        }
+        return List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + System.getProperty("jmh.datasource.username", "postgres"),
+                "--spring.datasource.password=" + System.getProperty("jmh.datasource.password", ""),
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false");
+    }
+}
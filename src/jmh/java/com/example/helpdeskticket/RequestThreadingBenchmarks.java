@@ -0,0 +1,110 @@
+package com.example.helpdeskticket;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Ticket;
+import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.LocationRepository;
+import com.example.helpdeskticket.repository.UserRepository;
+import com.example.helpdeskticket.service.TicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// A database-backed endpoint under 100 concurrent clients, with requests handled on platform threads or
+// on virtual threads, both behind a 10-connection pool (throughput, and latency percentiles from the
+// sample mode), over a seeded tickets table. H2 in memory hides most of the JDBC wait that virtual threads
+// save; -Djmh.datasource.url runs it against PostgreSQL instead (see BenchmarkDatabase).
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(100)
+public class RequestThreadingBenchmarks {
+
+    private static final int POOL_SIZE = 10;
+    private static final int SEED_USERS = 100;
+    private static final int SEED_TICKETS_PER_USER = 1_000;
+    private static final int SEED_BATCH_SIZE = 500;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ServletWebServerApplicationContext context;
+    private HttpClient http;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, so they override application.properties
+        List<String> arguments = new ArrayList<>(BenchmarkDatabase.arguments("threading-" + virtualThreads));
+        arguments.addAll(List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.jpa.show-sql=false",
+                "--helpdesk.tickets.auto-close.enabled=false",
+                "--helpdesk.tickets.archive.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.helpdeskticket=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(HelpdeskticketApplication.class)
+                .run(arguments.toArray(String[]::new));
+        seed();
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create(
+                "http://localhost:" + context.getWebServer().getPort() + "/api/tickets/summaries?size=20")).GET().build();
+    }
+
+    // SEED_USERS users with SEED_TICKETS_PER_USER tickets each, plus the summaries' index from the migrations
+    // (V6), which the entity-generated schema lacks
+    private void seed() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("CREATE INDEX idx_tickets_created ON tickets (created_at DESC, id DESC)");
+
+        TicketService ticketService = context.getBean(TicketService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        Location province = context.getBean(LocationRepository.class)
+                .save(new Location("Kigali City", "01", null, 1, null, null, false));
+        for (int u = 0; u < SEED_USERS; u++) {
+            User user = userRepository.save(new User("bench-" + u + "@example.com", "secret", "Bench", "User",
+                    province, null, null, false));
+            for (int first = 0; first < SEED_TICKETS_PER_USER; first += SEED_BATCH_SIZE) {
+                List<Ticket> tickets = new ArrayList<>(SEED_BATCH_SIZE);
+                for (int i = first; i < first + SEED_BATCH_SIZE; i++) {
+                    tickets.add(new Ticket("Printer on floor 2 is jammed #" + i,
+                            "The printer next to the lifts shows a paper jam after every second page", null, user,
+                            null, null, null, false));
+                }
+                ticketService.createTickets(tickets);
+            }
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int ticketSummaries() throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
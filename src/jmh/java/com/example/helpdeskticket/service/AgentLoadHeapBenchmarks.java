@@ -0,0 +1,69 @@
+package com.example.helpdeskticket.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Least-loaded assignment: the heap against a linear scan of every agent's load (what a per-assignment
+// COUNT ... GROUP BY amounts to). Each invocation assigns one ticket and completes an earlier one, so
+// loads stay bounded over millions of invocations.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AgentLoadHeapBenchmarks {
+
+    @Param({"100", "5000"})
+    public int agents;
+
+    private AgentLoadHeap heap;
+    private int[] loads;
+    private long[] assigned;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        heap = new AgentLoadHeap(agents);
+        loads = new int[agents];
+        for (int i = 0; i < agents; i++) {
+            heap.put(i, 0);
+        }
+        // Ring of open tickets: the oldest one is completed when a new one is assigned
+        assigned = new long[agents];
+        for (int i = 0; i < agents; i++) {
+            assigned[i] = heap.assignLeastLoaded();
+            loads[(int) assigned[i]]++;
+        }
+    }
+
+    @Benchmark
+    public long heap() {
+        int slot = next;
+        next = (next + 1) % assigned.length;
+        heap.adjust(assigned[slot], -1);
+        assigned[slot] = heap.assignLeastLoaded();
+        return assigned[slot];
+    }
+
+    @Benchmark
+    public long linearScan() {
+        int slot = next;
+        next = (next + 1) % assigned.length;
+        loads[(int) assigned[slot]]--;
+        int best = 0;
+        for (int i = 1; i < loads.length; i++) {
+            if (loads[i] < loads[best]) {
+                best = i;
+            }
+        }
+        loads[best]++;
+        assigned[slot] = best;
+        return best;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.repository.LocationRepository;
+import com.example.helpdeskticket.repository.projection.LocationNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// LocationService.isValidLocationHierarchy over an in-memory tree (5 provinces, 30 districts each,
+// 15 sectors per district): parent levels from the hierarchy index, or from the (mocked) repository
+// lookup used when the index is disabled.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LocationServiceBenchmarks {
+
+    private static final int PROVINCES = 5;
+    private static final int DISTRICTS_PER_PROVINCE = 30;
+    private static final int SECTORS_PER_DISTRICT = 15;
+
+    @Param({"true", "false"})
+    public boolean hierarchyIndexEnabled;
+
+    private LocationService locationService;
+    private Location[] candidates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<LocationNode> nodes = new ArrayList<>();
+        Map<Long, Location> byId = new HashMap<>();
+        List<Location> sectors = new ArrayList<>();
+        long id = 1;
+        for (int p = 0; p < PROVINCES; p++) {
+            Location province = location(id++, "Province " + p, null, 1, nodes, byId);
+            for (int d = 0; d < DISTRICTS_PER_PROVINCE; d++) {
+                Location district = location(id++, "District " + p + "-" + d, province, 2, nodes, byId);
+                for (int s = 0; s < SECTORS_PER_DISTRICT; s++) {
+                    sectors.add(location(id++, "Sector " + p + "-" + d + "-" + s, district, 3, nodes, byId));
+                }
+            }
+        }
+
+        LocationRepository locationRepository = mock(LocationRepository.class, withSettings().stubOnly());
+        when(locationRepository.findAllNodes()).thenReturn(nodes);
+        when(locationRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(byId.get(invocation.<Long>getArgument(0))));
+
+        LocationHierarchyIndex hierarchyIndex = new LocationHierarchyIndex(locationRepository);
+        hierarchyIndex.rebuild();
+        locationService = new LocationService(locationRepository, hierarchyIndex,
+                mock(LocationNameIndex.class, withSettings().stubOnly()),
+                mock(ReferenceDataCache.class, withSettings().stubOnly()), hierarchyIndexEnabled, false);
+
+        // New villages (level 4) under existing sectors, as validated on save
+        candidates = new Location[sectors.size()];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = new Location("Village " + i, null, sectors.get(i), 4, null, null, false);
+        }
+    }
+
+    @Benchmark
+    public boolean isValidLocationHierarchy() {
+        Location candidate = candidates[next];
+        next = next + 1 == candidates.length ? 0 : next + 1;
+        return locationService.isValidLocationHierarchy(candidate);
+    }
+
+    private static Location location(long id, String name, Location parent, int level,
+                                     List<LocationNode> nodes, Map<Long, Location> byId) {
+        Location location = new Location(name, null, parent, level, null, null, false);
+        location.setId(id);
+        nodes.add(new LocationNode(id, parent != null ? parent.getId() : null, level));
+        byId.put(id, location);
+        return location;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Ticket;
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of a Page<Ticket> as the ticket list endpoints return it (PageImpl, serialized
+// as is), next to the PagedModel DTO shape Spring Data recommends, with an ObjectMapper set up like the
+// application's (Spring Boot defaults: java.time support, ISO dates).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmarks {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Ticket> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Location province = new Location("Kigali City", "01", null, 1, null, null, false);
+        province.setId(1L);
+        User user = new User("bench@example.com", "secret", "Bench", "User", province, null, null, false);
+        user.setId(1L);
+
+        TicketStatus[] statuses = TicketStatus.values();
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Ticket> tickets = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Ticket ticket = new Ticket("Printer on floor " + i + " is jammed",
+                    "The printer next to the lifts shows a paper jam after every second page",
+                    statuses[i % statuses.length], user, createdAt.plusMinutes(i), null, null, false);
+            ticket.setId((long) i + 1);
+            tickets.add(ticket);
+        }
+        page = new PageImpl<>(tickets, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializePagedModel() throws Exception {
+        return objectMapper.writeValueAsBytes(new PagedModel<>(page));
+    }
+}
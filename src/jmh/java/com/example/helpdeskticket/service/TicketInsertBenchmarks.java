@@ -0,0 +1,101 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.BenchmarkDatabase;
+import com.example.helpdeskticket.HelpdeskticketApplication;
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Ticket;
+import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.LocationRepository;
+import com.example.helpdeskticket.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TicketService.createTickets persisting a batch of tickets with Ticket ids from tickets_seq (pooled-lo, one
+// sequence call and one JDBC insert batch per 50 tickets) or, through META-INF/identity-ticket-ids.xml, from
+// an IDENTITY column (Hibernate then sends one INSERT per ticket to read the id back). Runs on in-memory H2
+// unless -Djmh.datasource.url points at another database (see BenchmarkDatabase).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TicketInsertBenchmarks {
+
+    private static final int SEED_BATCHES = 20;
+
+    @Param({"sequence", "identity"})
+    public String ticketIds;
+
+    @Param({"500"})
+    public int tickets;
+
+    private ConfigurableApplicationContext context;
+    private TicketService ticketService;
+    private User user;
+    private int batch;
+
+    @Setup
+    public void setUp() {
+        List<String> arguments = new ArrayList<>(BenchmarkDatabase.arguments("insert-" + ticketIds));
+        if (ticketIds.equals("identity")) {
+            arguments.add("--spring.jpa.mapping-resources=META-INF/identity-ticket-ids.xml");
+        }
+        arguments.addAll(List.of(
+                "--spring.jpa.show-sql=false",
+                "--helpdesk.tickets.auto-close.enabled=false",
+                "--helpdesk.tickets.archive.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.helpdeskticket=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        context = new SpringApplicationBuilder(HelpdeskticketApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments.toArray(String[]::new));
+        ticketService = context.getBean(TicketService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // An index for the duplicate check (the migrations create one, the entity-generated schema does not);
+        // without it every batch scans the tickets of all earlier ones. Hash first, so H2 can look up the IN list.
+        jdbcTemplate.execute("CREATE INDEX idx_tickets_title_hash_user ON tickets (title_hash, user_id)");
+
+        Location province = context.getBean(LocationRepository.class)
+                .save(new Location("Kigali City", "01", null, 1, null, null, false));
+        user = context.getBean(UserRepository.class)
+                .save(new User("bench@example.com", "secret", "Bench", "User", province, null, null, false));
+
+        // Start from a populated table with planner statistics, as in production
+        for (int i = 0; i < SEED_BATCHES; i++) {
+            createTickets();
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TicketService.BatchCreateResult createTickets() {
+        // Fresh titles every call, so none is rejected as a duplicate
+        int current = batch++;
+        List<Ticket> batchTickets = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            batchTickets.add(new Ticket("Printer on floor 2 is jammed #" + current + "-" + i,
+                    "The printer next to the lifts shows a paper jam after every second page", null, user,
+                    null, null, null, false));
+        }
+        return ticketService.createTickets(batchTickets);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Ticket;
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.TicketArchiveRepository;
+import com.example.helpdeskticket.repository.TicketRepository;
+import com.example.helpdeskticket.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// TicketService.createTicket without a database: validation, title normalization and hashing, the duplicate
+// filter check and the counter updates, with every repository mocked (stub-only, so invocations are not
+// recorded over millions of calls). Also the status transition table.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TicketServiceBenchmarks {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private TicketService ticketService;
+    private User user;
+    private int sequence;
+
+    @Setup
+    public void setUp() {
+        TicketRepository ticketRepository = stub(TicketRepository.class);
+        when(ticketRepository.saveAndFlush(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ticketService = new TicketService(ticketRepository, stub(UserRepository.class), stub(TicketStatusCounters.class),
+                stub(TicketBulkTransitionService.class), stub(TicketTitleFilter.class), stub(TicketArchiveRepository.class),
+                stub(TicketArchiveService.class), stub(EntityDetacher.class), stub(AgentWorkloadIndex.class),
+                stub(QueueNumberService.class), stub(PlatformTransactionManager.class));
+
+        user = new User("bench@example.com", "secret", "Bench", "User", null, null, null, false);
+        user.setId(1L);
+    }
+
+    @Benchmark
+    public Ticket createTicket() {
+        Ticket ticket = new Ticket("Printer on floor 2 is jammed #" + sequence++,
+                "The printer next to the lifts shows a paper jam after every second page", null, user,
+                null, null, null, false);
+        return ticketService.createTicket(ticket);
+    }
+
+    @Benchmark
+    public void createTicketRejected(Blackhole blackhole) {
+        Ticket ticket = new Ticket("   ", null, null, user, null, null, null, false);
+        try {
+            ticketService.createTicket(ticket);
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    // All 16 (from, to) pairs per invocation
+    @Benchmark
+    public void isValidStatusTransition(Blackhole blackhole) {
+        for (TicketStatus from : STATUSES) {
+            for (TicketStatus to : STATUSES) {
+                blackhole.consume(TicketService.isValidStatusTransition(from, to));
+            }
+        }
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+}
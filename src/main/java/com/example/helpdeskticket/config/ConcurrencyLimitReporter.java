@@ -0,0 +1,57 @@
+package com.example.helpdeskticket.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Startup report of what limits request concurrency. With spring.threads.virtual.enabled=true every request
+// (and the @Transactional service calls it makes) runs on its own virtual thread, so Tomcat's worker pool no
+// longer caps concurrent requests; the Hikari pool does. Requests past maximum-pool-size park on a connection
+// for up to connection-timeout instead of queueing for a worker thread.
+@Component
+public class ConcurrencyLimitReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitReporter.class);
+
+    private final DataSource dataSource;
+    private final boolean virtualThreads;
+    private final int tomcatMaxThreads;
+
+    public ConcurrencyLimitReporter(DataSource dataSource,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                    @Value("${server.tomcat.threads.max:200}") int tomcatMaxThreads) {
+        this.dataSource = dataSource;
+        this.virtualThreads = virtualThreads;
+        this.tomcatMaxThreads = tomcatMaxThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportConcurrencyLimits() {
+        HikariDataSource pool = hikari();
+        if (pool == null) {
+            return;
+        }
+        if (virtualThreads) {
+            log.info("Requests run on virtual threads; database concurrency is limited by the connection pool " +
+                     "({} connections, {} ms connection timeout)", pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+        } else {
+            log.info("Requests run on {} platform threads sharing {} database connections",
+                    tomcatMaxThreads, pool.getMaximumPoolSize());
+        }
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
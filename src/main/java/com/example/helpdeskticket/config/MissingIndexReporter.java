@@ -0,0 +1,89 @@
+package com.example.helpdeskticket.config;
+
+import com.example.helpdeskticket.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Startup check that every index the repositories rely on exists and is valid. Indexes can go missing
+// when a migration fell back (duplicate ticket titles) or a manual CONCURRENTLY build failed half way. PostgreSQL only.
+@Component
+public class MissingIndexReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(MissingIndexReporter.class);
+
+    // Indexes created by the migrations in db/migration
+    static final List<String> EXPECTED_INDEXES = List.of(
+            "idx_locations_path",
+            "idx_locations_parent_name",
+            "idx_locations_name",
+            "idx_locations_province_code",
+            "idx_users_location",
+            "idx_user_roles_user",
+            "idx_tickets_search_vector",
+            TicketRepository.TITLE_HASH_UNIQUE_INDEX,
+            "idx_tickets_user_created",
+            "idx_tickets_user_status",
+            "idx_tickets_status_created",
+            "idx_tickets_status_resolved",
+            "idx_tickets_created",
+            "idx_tickets_deleted_at",
+            "idx_tickets_archive_id",
+            "idx_tickets_archive_user_created",
+            "idx_tickets_assignee_status",
+            "idx_tickets_branch_queue");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MissingIndexReporter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportMissingIndexes() {
+        if (!isPostgreSql()) {
+            return;
+        }
+        List<String> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            log.info("All {} expected indexes are present and valid", EXPECTED_INDEXES.size());
+        } else {
+            log.warn("Missing or invalid indexes: {}", missing);
+        }
+    }
+
+    public List<String> findMissingIndexes() {
+        Set<String> valid = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_index i " +
+                "JOIN pg_class c ON c.oid = i.indexrelid " +
+                "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                "WHERE n.nspname = current_schema() AND i.indisvalid", String.class));
+        List<String> missing = new ArrayList<>();
+        for (String index : EXPECTED_INDEXES) {
+            if (!valid.contains(index)) {
+                missing.add(index);
+            }
+        }
+        return missing;
+    }
+
+    private boolean isPostgreSql() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    metaData -> metaData.getDatabaseProductName());
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.helpdeskticket.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Short connection wait for virtual-thread mode. Requests are no longer queued for a Tomcat worker, so under
+// load they queue on the Hikari pool instead; failing them after a few seconds keeps that queue bounded. In
+// platform mode the pool keeps Hikari's default, so requests behind a long export are not failed early.
+// Locks that are held across a query (index rebuilds, queue number refills) are ReentrantLocks rather than
+// synchronized blocks throughout, so a virtual thread waiting on the database does not pin its carrier.
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConnectionTimeout implements BeanPostProcessor {
+
+    private final long connectionTimeout;
+
+    public VirtualThreadConnectionTimeout(
+            @Value("${helpdesk.threads.virtual.connection-timeout:5000}") long connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    // After initialization, so it wins over the bound spring.datasource.hikari.* properties
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            dataSource.setConnectionTimeout(connectionTimeout);
+        }
+        return bean;
+    }
+}
@@ -133,6 +133,24 @@ public class LocationController {
         return ResponseEntity.ok(descendants);
     }
 
+    @GetMapping("/{locationId}/ancestors")
+    public ResponseEntity<List<Location>> getAncestors(@PathVariable Long locationId) {
+        List<Location> ancestors = locationService.findAncestors(locationId);
+        return ResponseEntity.ok(ancestors);
+    }
+
+    @GetMapping("/{locationId}/is-descendant-of/{ancestorId}")
+    public ResponseEntity<Boolean> isDescendantOf(@PathVariable Long locationId, @PathVariable Long ancestorId) {
+        boolean isDescendant = locationService.isDescendantOf(locationId, ancestorId);
+        return ResponseEntity.ok(isDescendant);
+    }
+
+    @PostMapping("/hierarchy/rebuild")
+    public ResponseEntity<Void> rebuildHierarchyIndex() {
+        locationService.rebuildHierarchyIndex();
+        return ResponseEntity.ok().build();
+    }
+
     // Helper methods
     @GetMapping("/{id}/is-province")
     public ResponseEntity<Boolean> isProvince(@PathVariable Long id) {
@@ -155,9 +173,14 @@ public class LocationController {
 
     // Search operations
     @GetMapping("/search")
-    public ResponseEntity<List<Location>> searchByName(@RequestParam String name) {
-        List<Location> locations = locationService.findByNameContainingIgnoreCase(name);
-        return ResponseEntity.ok(locations);
+    public ResponseEntity<List<Location>> searchByName(@RequestParam String name,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<Location> locations = locationService.findByNameContainingIgnoreCase(name, limit);
+            return ResponseEntity.ok(locations);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // Validation endpoint
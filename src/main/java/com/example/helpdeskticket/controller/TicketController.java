@@ -1,15 +1,31 @@
 package com.example.helpdeskticket.controller;
 
+import com.example.helpdeskticket.config.AsyncRequestTimeouts;
 import com.example.helpdeskticket.model.Ticket;
 import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.repository.projection.TicketDetail;
+import com.example.helpdeskticket.repository.projection.TicketHistoryEntry;
+import com.example.helpdeskticket.repository.projection.TicketSearchHit;
+import com.example.helpdeskticket.repository.projection.TicketSummary;
+import com.example.helpdeskticket.service.CursorPage;
+import com.example.helpdeskticket.service.TicketArchiveService;
+import com.example.helpdeskticket.service.TicketBulkTransitionService;
+import com.example.helpdeskticket.service.TicketExportService;
 import com.example.helpdeskticket.service.TicketService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,9 +35,14 @@ import java.util.Optional;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketExportService ticketExportService;
+    private final Duration exportTimeout;
 
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService, TicketExportService ticketExportService,
+                            @Value("${helpdesk.tickets.export.request-timeout:30m}") Duration exportTimeout) {
         this.ticketService = ticketService;
+        this.ticketExportService = ticketExportService;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping
@@ -39,6 +60,98 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    // Read-model views (no entity serialization, user summary fetched in the same query)
+    @GetMapping("/summaries")
+    public ResponseEntity<Slice<TicketSummary>> getAllTicketSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Slice<TicketSummary> tickets = ticketService.findAllSummaries(pageable);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/user/{userId}/summaries")
+    public ResponseEntity<Slice<TicketSummary>> getTicketSummariesByUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Slice<TicketSummary> tickets = ticketService.findSummariesByUserId(userId, pageable);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Live tickets, optionally merged with the user's archived (closed long ago) tickets
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<Page<TicketHistoryEntry>> getTicketHistoryByUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Page<TicketHistoryEntry> tickets = ticketService.findHistoryByUserId(userId, includeArchived, pageable);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/status/{status}/summaries")
+    public ResponseEntity<Slice<TicketSummary>> getTicketSummariesByStatus(
+            @PathVariable TicketStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Slice<TicketSummary> tickets = ticketService.findSummariesByStatus(status, pageable);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/unresolved/summaries")
+    public ResponseEntity<Slice<TicketSummary>> getUnresolvedTicketSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Slice<TicketSummary> tickets = ticketService.findUnresolvedSummaries(pageable);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<TicketDetail> getTicketDetail(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        Optional<TicketDetail> ticket = ticketService.findDetailById(id, includeArchived);
+        return ticket.map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<TicketSummary>> getAllTicketsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPage<TicketSummary> tickets = ticketService.findAllByCursor(cursor, size);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/all")
     public ResponseEntity<List<Ticket>> getAllTicketsList(
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -51,6 +164,16 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllTickets(
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        Sort sort = direction.equalsIgnoreCase("asc") ? 
+            Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        return streamExport(format, (exportFormat, out) -> ticketExportService.exportAll(sort, exportFormat, out));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Ticket> getTicketById(@PathVariable Long id) {
         Optional<Ticket> ticket = ticketService.findById(id);
@@ -68,6 +191,16 @@ public class TicketController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<TicketService.BatchCreateResult> createTickets(@RequestBody List<Ticket> tickets) {
+        try {
+            TicketService.BatchCreateResult result = ticketService.createTickets(tickets);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Ticket> updateTicket(@PathVariable Long id, @RequestBody Ticket ticket) {
         try {
@@ -99,6 +232,19 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<CursorPage<TicketSummary>> getTicketsByUserByCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPage<TicketSummary> tickets = ticketService.findByUserIdByCursor(userId, cursor, size);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/user/{userId}/all")
     public ResponseEntity<List<Ticket>> getAllTicketsByUser(@PathVariable Long userId) {
         // This would need a custom implementation to get user object
@@ -107,12 +253,26 @@ public class TicketController {
         return ResponseEntity.ok(ticketsPage.getContent());
     }
 
+    @GetMapping("/user/{userId}/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllTicketsByUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        return streamExport(format, (exportFormat, out) -> ticketExportService.exportByUserId(userId, exportFormat, out));
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Ticket>> getTicketsByStatus(@PathVariable TicketStatus status) {
         List<Ticket> tickets = ticketService.findByStatusOrderByCreatedAtAsc(status);
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/status/{status}/stream")
+    public ResponseEntity<StreamingResponseBody> streamTicketsByStatus(
+            @PathVariable TicketStatus status,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        return streamExport(format, (exportFormat, out) -> ticketExportService.exportByStatus(status, exportFormat, out));
+    }
+
     @GetMapping("/status/{status}/paged")
     public ResponseEntity<Page<Ticket>> getTicketsByStatusPaged(
             @PathVariable TicketStatus status,
@@ -124,6 +284,19 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/status/{status}/cursor")
+    public ResponseEntity<CursorPage<TicketSummary>> getTicketsByStatusByCursor(
+            @PathVariable TicketStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPage<TicketSummary> tickets = ticketService.findByStatusByCursor(status, cursor, size);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/unresolved")
     public ResponseEntity<Page<Ticket>> getUnresolvedTickets(
             @RequestParam(defaultValue = "0") int page,
@@ -134,12 +307,45 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/unresolved/cursor")
+    public ResponseEntity<CursorPage<TicketSummary>> getUnresolvedTicketsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPage<TicketSummary> tickets = ticketService.findUnresolvedTicketsByCursor(cursor, size);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Full-text search over title and description
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<TicketSearchHit>> searchTickets(
+            @RequestParam String q,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<TicketSearchHit> hits = ticketService.searchTickets(q, status, userId, cursor, size);
+            return ResponseEntity.ok(hits);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/open")
     public ResponseEntity<List<Ticket>> getOpenTickets() {
         List<Ticket> tickets = ticketService.findOpenTickets();
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/open/stream")
+    public ResponseEntity<StreamingResponseBody> streamOpenTickets(@RequestParam(defaultValue = "ndjson") String format) {
+        return streamExport(format, (exportFormat, out) -> ticketExportService.exportByStatus(TicketStatus.OPEN, exportFormat, out));
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<Ticket> updateTicketStatus(
             @PathVariable Long id,
@@ -152,16 +358,62 @@ public class TicketController {
         }
     }
 
+    // Work queue: claim the oldest OPEN tickets (moved to IN_PROGRESS); concurrent agents never get the same ticket
+    @PostMapping("/claim")
+    public ResponseEntity<List<TicketSummary>> claimNextTickets(@RequestParam(defaultValue = "1") int count,
+                                                                @RequestParam(required = false) Long agentId) {
+        try {
+            List<TicketSummary> tickets = ticketService.claimNextTicketSummaries(count, agentId);
+            return ResponseEntity.ok(tickets);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Assignment: to the given agent, or to the least-loaded agent when none is given (ticket moves to IN_PROGRESS)
+    @PostMapping("/{id}/assign")
+    public ResponseEntity<TicketSummary> assignTicket(@PathVariable Long id, @RequestParam(required = false) Long agentId) {
+        try {
+            TicketSummary ticket = ticketService.assignTicketSummary(id, agentId);
+            return ResponseEntity.ok(ticket);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
     @PostMapping("/close-resolved")
-    public ResponseEntity<Void> closeResolvedTickets() {
-        ticketService.closeResolvedTickets();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<TicketBulkTransitionService.BulkTransitionResult> closeResolvedTickets() {
+        TicketBulkTransitionService.BulkTransitionResult result = ticketService.closeResolvedTickets();
+        return ResponseEntity.ok(result);
     }
 
     @PostMapping("/auto-close-old")
-    public ResponseEntity<Void> autoCloseOldResolvedTickets(@RequestParam(defaultValue = "30") int daysOld) {
-        ticketService.autoCloseOldResolvedTickets(daysOld);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<TicketBulkTransitionService.BulkTransitionResult> autoCloseOldResolvedTickets(
+            @RequestParam(defaultValue = "30") int daysOld) {
+        try {
+            TicketBulkTransitionService.BulkTransitionResult result = ticketService.autoCloseOldResolvedTickets(daysOld);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/archive")
+    public ResponseEntity<TicketArchiveService.ArchiveResult> archiveOldTickets(
+            @RequestParam(defaultValue = "30") int deletedDaysOld,
+            @RequestParam(defaultValue = "180") int closedDaysOld) {
+        try {
+            TicketArchiveService.ArchiveResult result = ticketService.archiveOldTickets(deletedDaysOld, closedDaysOld);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     @GetMapping("/user/{userId}/statistics")
@@ -182,12 +434,28 @@ public class TicketController {
         return ResponseEntity.ok(averageTime);
     }
 
+    @GetMapping("/statistics/resolution-time")
+    public ResponseEntity<TicketService.ResolutionTimeStatistics> getResolutionTimeStatistics() {
+        TicketService.ResolutionTimeStatistics statistics = ticketService.getResolutionTimeStatistics();
+        return ResponseEntity.ok(statistics);
+    }
+
+    @GetMapping("/statistics/resolution-time/percentile")
+    public ResponseEntity<Double> getResolutionTimePercentile(@RequestParam(defaultValue = "0.5") double percentile) {
+        try {
+            double hours = ticketService.getResolutionTimePercentile(percentile);
+            return ResponseEntity.ok(hours);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/exists")
     public ResponseEntity<Boolean> checkTicketExists(
             @RequestParam String title,
             @RequestParam Long userId) {
-        // This would need user object - placeholder implementation
-        return ResponseEntity.ok(false);
+        boolean exists = ticketService.existsByTitleAndUserId(title, userId);
+        return ResponseEntity.ok(exists);
     }
 
     @GetMapping("/{ticketId}/owned-by/{userId}")
@@ -198,6 +466,27 @@ public class TicketController {
         return ResponseEntity.ok(isOwned);
     }
 
+    // Streaming helper: the export runs while the response body is written
+    private ResponseEntity<StreamingResponseBody> streamExport(String format, TicketExport export) {
+        TicketExportService.ExportFormat exportFormat;
+        try {
+            exportFormat = TicketExportService.ExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> export.write(exportFormat, out);
+        // Large exports outlast the default async timeout; raise it for this response only
+        AsyncRequestTimeouts.setForCurrentRequest(exportTimeout);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    @FunctionalInterface
+    private interface TicketExport {
+        void write(TicketExportService.ExportFormat format, OutputStream out);
+    }
+
     @GetMapping("/user/{userId}/count-by-status")
     public ResponseEntity<Long> countTicketsByUserAndStatus(
             @PathVariable Long userId,
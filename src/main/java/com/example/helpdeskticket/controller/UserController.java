@@ -1,7 +1,9 @@
 package com.example.helpdeskticket.controller;
 
 import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.UserFetchPlan;
 import com.example.helpdeskticket.service.UserService;
+import com.example.helpdeskticket.service.UserView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,12 +25,17 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<User>> getAllUsers(
+    public ResponseEntity<Page<UserView>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<User> users = userService.findAll(pageable);
-        return ResponseEntity.ok(users);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "summary") String fetch) {
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Page<UserView> users = userService.findAll(pageable, UserFetchPlan.from(fetch));
+            return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/all")
@@ -106,9 +113,15 @@ public class UserController {
     }
 
     @GetMapping("/province/{codeOrName}")
-    public ResponseEntity<List<User>> getUsersByProvince(@PathVariable String codeOrName) {
-        List<User> users = userService.findByProvinceCodeOrName(codeOrName);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserView>> getUsersByProvince(
+            @PathVariable String codeOrName,
+            @RequestParam(defaultValue = "summary") String fetch) {
+        try {
+            List<UserView> users = userService.findByProvinceCodeOrName(codeOrName, UserFetchPlan.from(fetch));
+            return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PatchMapping("/{id}/password")
@@ -0,0 +1,113 @@
+package com.example.helpdeskticket.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Read-only view of a ticket moved to the partitioned tickets_archive table by TicketArchiveService.
+// Rows keep their original ticket id; the user is kept as a plain id (the user may be gone by now).
+@Entity
+@Immutable
+@Table(name = "tickets_archive")
+public class ArchivedTicket {
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 1000)
+    private String title;
+
+    @Column(length = 5000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TicketStatus status;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "assignee_id")
+    private Long assigneeId;
+
+    @Column(name = "branch_id")
+    private Long branchId;
+
+    @Column(name = "queue_date")
+    private LocalDate queueDate;
+
+    @Column(name = "queue_number")
+    private Integer queueNumber;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime resolvedAt;
+
+    private LocalDateTime deletedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(name = "is_deleted", nullable = false)
+    private Boolean isDeleted;
+
+    // No-arg constructor
+    protected ArchivedTicket() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TicketStatus getStatus() {
+        return status;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public Long getBranchId() {
+        return branchId;
+    }
+
+    public LocalDate getQueueDate() {
+        return queueDate;
+    }
+
+    public Integer getQueueNumber() {
+        return queueNumber;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public Boolean getIsDeleted() {
+        return isDeleted;
+    }
+}
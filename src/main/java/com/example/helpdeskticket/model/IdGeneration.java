@@ -0,0 +1,12 @@
+package com.example.helpdeskticket.model;
+
+// Shared id settings: every entity draws its ids from its own pooled-lo sequence, so inserts
+// need no round trip for the id and can be JDBC-batched (IDENTITY columns rule out both)
+public final class IdGeneration {
+
+    // Ids reserved per sequence call; must equal each sequence's INCREMENT BY (changing it needs a migration)
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -3,6 +3,8 @@ package com.example.helpdeskticket.model;
 
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
@@ -13,11 +15,18 @@ import java.util.List;
 
 @Entity
 @Table(name = "locations")
+// Near-static reference data: entities and lookup queries are second-level cached (see ReferenceDataCache)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Location.CACHE_REGION)
 @SQLDelete(sql = "UPDATE locations SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
 @Where(clause = "is_deleted = false")
 public class Location {
+    public static final String CACHE_REGION = "locations";
+    public static final String QUERY_CACHE_REGION = "locations-queries";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "locations_seq")
+    @SequenceGenerator(name = "locations_seq", sequenceName = "locations_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -36,6 +45,10 @@ public class Location {
     @Column(name = "level", nullable = false)  // 1=Province, 2=District, etc.
     private Integer level = 1;
 
+    // Materialized path of ids from the province down, e.g. "/1/7/42/" - maintained by LocationService
+    @Column(name = "path")
+    private String path;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -108,6 +121,14 @@ public class Location {
         this.level = level;
     }
 
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
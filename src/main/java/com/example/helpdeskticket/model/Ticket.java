@@ -7,7 +7,14 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
 
 @Entity
 @Table(name = "tickets")
@@ -15,12 +22,17 @@ import java.time.LocalDateTime;
 @Where(clause = "is_deleted = false")
 public class Ticket {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_seq")
+    @SequenceGenerator(name = "tickets_seq", sequenceName = "tickets_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 1000)
     private String title;
 
+    // SHA-256 of the normalized title; unique per user among non-deleted tickets (duplicate detection)
+    @Column(name = "title_hash", length = 64)
+    private String titleHash;
+
     @Column(length = 5000)
     private String description;
 
@@ -31,6 +43,21 @@ public class Ticket {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;  // M:1 (ticket belongs to user)
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignee_id")
+    private User assignee;  // M:1 (AGENT working on the ticket, null until assigned)
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "branch_id")
+    private Location branch;  // M:1 (branch the ticket was issued at, null for tickets without a queue number)
+
+    // Daily queue number at the branch, issued by QueueNumberService
+    @Column(name = "queue_date")
+    private LocalDate queueDate;
+
+    @Column(name = "queue_number")
+    private Integer queueNumber;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -57,6 +84,30 @@ public class Ticket {
         this.isDeleted = isDeleted;
     }
 
+    @PrePersist
+    @PreUpdate
+    void updateTitleHash() {
+        titleHash = normalizedTitleHash(title);
+    }
+
+    // Titles differing only in case, Unicode compatibility forms or whitespace hash the same.
+    // Stored hashes depend on this: a change needs a migration that rehashes existing tickets.
+    public static String normalizedTitleHash(String title) {
+        if (title == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -98,6 +149,38 @@ public class Ticket {
         this.user = user;
     }
 
+    public User getAssignee() {
+        return assignee;
+    }
+
+    public void setAssignee(User assignee) {
+        this.assignee = assignee;
+    }
+
+    public Location getBranch() {
+        return branch;
+    }
+
+    public void setBranch(Location branch) {
+        this.branch = branch;
+    }
+
+    public LocalDate getQueueDate() {
+        return queueDate;
+    }
+
+    public void setQueueDate(LocalDate queueDate) {
+        this.queueDate = queueDate;
+    }
+
+    public Integer getQueueNumber() {
+        return queueNumber;
+    }
+
+    public void setQueueNumber(Integer queueNumber) {
+        this.queueNumber = queueNumber;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -13,11 +13,19 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+// Fetch plans (see UserFetchPlan). The inverse 1:1 userProfile cannot be proxied, so plans join it
+// instead of selecting it per row. The location path plan is written as fetch joins in UserRepository.
+@NamedEntityGraph(name = "User.summary", attributeNodes = @NamedAttributeNode("userProfile"))
+@NamedEntityGraph(name = "User.withRoles", attributeNodes = {
+    @NamedAttributeNode("userProfile"),
+    @NamedAttributeNode("roles")
+})
 @SQLDelete(sql = "UPDATE users SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
 @Where(clause = "is_deleted = false")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -32,7 +40,8 @@ public class User {
     @Column(nullable = false)
     private String lastName;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY, optional = false)
+    // Not optional=false: users are created before their profile, and fetch plans must left-join it
+    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private UserProfile userProfile;  // 1:1
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,7 +51,7 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Ticket> tickets = new ArrayList<>();  // 1:M
 
-    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
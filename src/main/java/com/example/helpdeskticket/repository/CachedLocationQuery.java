@@ -0,0 +1,22 @@
+package com.example.helpdeskticket.repository;
+
+import com.example.helpdeskticket.model.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Serves the annotated LocationRepository query from the query cache (region Location.QUERY_CACHE_REGION)
+// until locations change
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Location.QUERY_CACHE_REGION)
+})
+@interface CachedLocationQuery {
+}
@@ -3,10 +3,13 @@ package com.example.helpdeskticket.repository;
 
 
 import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.repository.projection.LocationName;
+import com.example.helpdeskticket.repository.projection.LocationNode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,34 +19,93 @@ import java.util.Optional;
 
 @Repository
 public interface LocationRepository extends JpaRepository<Location, Long> {
+    // Lookups marked @CachedLocationQuery are served from the query cache until locations change
+
     // Derived: Find by name (exact)
+    @CachedLocationQuery
     Optional<Location> findByName(String name);
 
     // Exists check (e.g., prevent duplicate names under same parent)
+    @CachedLocationQuery
     boolean existsByNameAndParentId(String name, Long parentId);
 
     // Find provinces (top-level: parent null), sorted by name
+    @CachedLocationQuery
     List<Location> findByParentIsNullOrderByNameAsc();
 
     // Paginated children of a location (e.g., districts under province)
     Page<Location> findByParentId(Long parentId, Pageable pageable);
 
     // Custom: Find province by code or name (for bidirectional user filter)
+    @CachedLocationQuery
     @Query("SELECT l FROM Location l WHERE l.code = :codeOrName OR l.name = :codeOrName AND l.parent IS NULL")
     Optional<Location> findProvinceByCodeOrName(@Param("codeOrName") String codeOrName);
 
     // Custom: Get all descendants (simplified; for full recursion, use native CTE below)
+    @CachedLocationQuery
     @Query("SELECT l2 FROM Location l1 JOIN l1.children l2 WHERE l1.id = :parentId")
     List<Location> findDirectChildren(@Param("parentId") Long parentId);
 
-    // Example native recursive query for full hierarchy (PostgreSQL CTE for province from village)
-    /*
-    @Query(value = "WITH RECURSIVE location_tree AS (" +
-                   "  SELECT id, parent_id, name, code, level FROM locations WHERE id = :villageId " +
+    // All tree edges (id, parent id, level) - provinces have a null parent id
+    @Query("SELECT new com.example.helpdeskticket.repository.projection.LocationNode(l.id, p.id, l.level) " +
+           "FROM Location l LEFT JOIN l.parent p")
+    List<LocationNode> findAllNodes();
+
+    // Name search: source of the in-memory name index, and the direct query used when it is disabled
+    @Query("SELECT new com.example.helpdeskticket.repository.projection.LocationName(l.id, l.name, l.level) " +
+           "FROM Location l")
+    List<LocationName> findAllNames();
+
+    List<Location> findByNameContainingIgnoreCaseOrderByLevelAscNameAsc(String name, Pageable pageable);
+
+    // Materialized path maintenance
+    @Query("SELECT l.path FROM Location l WHERE l.id = :id")
+    Optional<String> findPathById(@Param("id") Long id);
+
+    @Query("SELECT prov.path FROM Location prov WHERE prov.parent IS NULL " +
+           "AND (prov.code = :codeOrName OR prov.name = :codeOrName) ORDER BY prov.id")
+    List<String> findProvincePathsByCodeOrName(@Param("codeOrName") String codeOrName);
+
+    // Re-prefix a moved subtree (the moved location included) in one statement
+    @Modifying
+    @Query("UPDATE Location l SET l.path = CONCAT(:newPrefix, SUBSTRING(l.path, :oldPrefixLength + 1)) " +
+           "WHERE l.path LIKE CONCAT(:oldPrefix, '%')")
+    int movePathPrefix(@Param("oldPrefix") String oldPrefix,
+                       @Param("oldPrefixLength") int oldPrefixLength,
+                       @Param("newPrefix") String newPrefix);
+
+    // Recompute every path from the parent links (backfill / repair)
+    @Modifying
+    @Query(value = "WITH RECURSIVE tree(id, path) AS (" +
+                   "  SELECT id, '/' || id || '/' FROM locations WHERE parent_id IS NULL " +
+                   "  UNION ALL " +
+                   "  SELECT l.id, t.path || l.id || '/' FROM locations l JOIN tree t ON l.parent_id = t.id" +
+                   ") UPDATE locations SET path = tree.path FROM tree " +
+                   "WHERE locations.id = tree.id AND locations.path IS DISTINCT FROM tree.path", nativeQuery = true)
+    int rebuildAllPaths();
+
+    // Native recursive CTEs (PostgreSQL): whole subtree / ancestry in one round trip, at any depth
+    @Query(value = "WITH RECURSIVE tree(id, depth) AS (" +
+                   "  SELECT id, 1 AS depth FROM locations WHERE parent_id = :parentId AND is_deleted = false " +
+                   "  UNION ALL " +
+                   "  SELECT l.id, t.depth + 1 FROM locations l JOIN tree t ON l.parent_id = t.id WHERE l.is_deleted = false" +
+                   ") SELECT l.* FROM locations l JOIN tree t ON l.id = t.id ORDER BY t.depth, l.name", nativeQuery = true)
+    List<Location> findAllDescendantsRecursive(@Param("parentId") Long parentId);
+
+    // Direct parent first, province last
+    @Query(value = "WITH RECURSIVE ancestry(parent_id, depth) AS (" +
+                   "  SELECT parent_id, 0 AS depth FROM locations WHERE id = :locationId AND is_deleted = false " +
+                   "  UNION ALL " +
+                   "  SELECT l.parent_id, a.depth + 1 FROM locations l JOIN ancestry a ON l.id = a.parent_id WHERE l.is_deleted = false" +
+                   ") SELECT l.* FROM locations l JOIN ancestry a ON l.id = a.parent_id " +
+                   "WHERE l.is_deleted = false ORDER BY a.depth", nativeQuery = true)
+    List<Location> findAncestorsRecursive(@Param("locationId") Long locationId);
+
+    // Province (root) of any location, including the location itself when it is a province
+    @Query(value = "WITH RECURSIVE ancestry(id, parent_id) AS (" +
+                   "  SELECT id, parent_id FROM locations WHERE id = :locationId AND is_deleted = false " +
                    "  UNION ALL " +
-                   "  SELECT l.id, l.parent_id, l.name, l.code, l.level FROM locations l " +
-                   "  INNER JOIN location_tree lt ON l.id = lt.parent_id " +
-                   ") SELECT * FROM location_tree WHERE level = 1", nativeQuery = true)
-    Optional<Location> findProvinceFromVillageNative(@Param("villageId") Long villageId);
-    */
+                   "  SELECT l.id, l.parent_id FROM locations l JOIN ancestry a ON l.id = a.parent_id WHERE l.is_deleted = false" +
+                   ") SELECT l.* FROM locations l JOIN ancestry a ON l.id = a.id WHERE a.parent_id IS NULL", nativeQuery = true)
+    Optional<Location> findProvinceByLocationIdRecursive(@Param("locationId") Long locationId);
 }
\ No newline at end of file
@@ -5,18 +5,28 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    // Lookups marked @CachedRoleQuery are served from the query cache until roles change
+
     // Derived: Find by name (unique)
+    @CachedRoleQuery
     Optional<Role> findByName(String name);
 
+    // Several roles by name in one query
+    @CachedRoleQuery
+    List<Role> findByNameIn(Collection<String> names);
+
     // Exists by name
+    @CachedRoleQuery
     boolean existsByName(String name);
 
     // FIXED: All roles, sorted by name
+    @CachedRoleQuery
     List<Role> findAllByOrderByNameAsc();
 
     // Custom: Roles with user count (using @Query for aggregation)
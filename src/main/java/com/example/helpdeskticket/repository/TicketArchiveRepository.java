@@ -0,0 +1,83 @@
+package com.example.helpdeskticket.repository;
+
+import com.example.helpdeskticket.model.ArchivedTicket;
+import com.example.helpdeskticket.repository.projection.TicketDetail;
+import com.example.helpdeskticket.repository.projection.TicketHistoryEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TicketArchiveRepository extends JpaRepository<ArchivedTicket, Long> {
+
+    // Archive candidates: one bounded chunk of ticket ids, locked for the move (concurrent runs skip them).
+    // Soft-deleted tickets are found through idx_tickets_deleted_at, closed ones through idx_tickets_status_resolved.
+    @Query(value = "SELECT id FROM tickets WHERE is_deleted = true AND deleted_at < :deletedBefore " +
+                   "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDeletedBatch(@Param("deletedBefore") LocalDateTime deletedBefore, @Param("batchSize") int batchSize);
+
+    @Query(value = "SELECT id FROM tickets WHERE is_deleted = false AND status = 'CLOSED' AND resolved_at < :closedBefore " +
+                   "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockClosedBatch(@Param("closedBefore") LocalDateTime closedBefore, @Param("batchSize") int batchSize);
+
+    // Archive completeness check (sees rows the SKIP LOCKED chunks passed over)
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tickets WHERE is_deleted = true AND deleted_at < :deletedBefore)",
+           nativeQuery = true)
+    boolean existsDeletedBefore(@Param("deletedBefore") LocalDateTime deletedBefore);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tickets WHERE is_deleted = false AND status = 'CLOSED' " +
+                   "AND resolved_at < :closedBefore)", nativeQuery = true)
+    boolean existsClosedBefore(@Param("closedBefore") LocalDateTime closedBefore);
+
+    // Creates any missing monthly partition for the given tickets; returns the partition names
+    @Query(value = "SELECT tickets_archive_ensure_partition(month_start) FROM " +
+                   "(SELECT DISTINCT date_trunc('month', created_at) AS month_start FROM tickets " +
+                   " WHERE id IN (:ids) AND created_at IS NOT NULL) months", nativeQuery = true)
+    List<String> ensurePartitions(@Param("ids") Collection<Long> ids);
+
+    // Moves the given tickets into the archive in one statement (delete from the hot table, insert the returned rows)
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM tickets WHERE id IN (:ids) " +
+                   "  RETURNING id, is_deleted, created_at, deleted_at, resolved_at, user_id, assignee_id, " +
+                   "  branch_id, queue_date, queue_number, title, description, status) " +
+                   "INSERT INTO tickets_archive (id, is_deleted, created_at, deleted_at, resolved_at, archived_at, " +
+                   "  user_id, assignee_id, branch_id, queue_date, queue_number, title, description, status) " +
+                   "SELECT id, is_deleted, created_at, deleted_at, resolved_at, CURRENT_TIMESTAMP, " +
+                   "  user_id, assignee_id, branch_id, queue_date, queue_number, title, description, status FROM moved", nativeQuery = true)
+    int moveToArchive(@Param("ids") Collection<Long> ids);
+
+    // Read path: archived (not soft-deleted) ticket in the same shape as the live detail view
+    @Query("SELECT new com.example.helpdeskticket.repository.projection.TicketDetail(" +
+           "a.id, a.title, a.description, a.status, a.createdAt, a.resolvedAt, a.userId, u.firstName, u.lastName, u.email) " +
+           "FROM ArchivedTicket a LEFT JOIN User u ON u.id = a.userId WHERE a.id = :id AND a.isDeleted = false")
+    Optional<TicketDetail> findDetailById(@Param("id") Long id);
+
+    // Read path: a user's live and archived tickets merged, newest first
+    @Query(value = "SELECT id, title, status, user_id AS userId, created_at AS createdAt, resolved_at AS resolvedAt, " +
+                   "false AS archived FROM tickets WHERE user_id = :userId AND is_deleted = false " +
+                   "UNION ALL " +
+                   "SELECT id, title, status, user_id, created_at, resolved_at, true FROM tickets_archive " +
+                   "WHERE user_id = :userId AND is_deleted = false " +
+                   "ORDER BY createdAt DESC, id DESC",
+           countQuery = "SELECT (SELECT COUNT(*) FROM tickets WHERE user_id = :userId AND is_deleted = false) + " +
+                        "(SELECT COUNT(*) FROM tickets_archive WHERE user_id = :userId AND is_deleted = false)",
+           nativeQuery = true)
+    Page<TicketHistoryEntry> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Read path: live tickets only, same shape (includeArchived = false)
+    @Query(value = "SELECT id, title, status, user_id AS userId, created_at AS createdAt, resolved_at AS resolvedAt, " +
+                   "false AS archived FROM tickets WHERE user_id = :userId AND is_deleted = false " +
+                   "ORDER BY created_at DESC, id DESC",
+           countQuery = "SELECT COUNT(*) FROM tickets WHERE user_id = :userId AND is_deleted = false",
+           nativeQuery = true)
+    Page<TicketHistoryEntry> findLiveHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
+}
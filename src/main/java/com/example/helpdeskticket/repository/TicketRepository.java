@@ -4,15 +4,29 @@ import com.example.helpdeskticket.model.Ticket;
 import com.example.helpdeskticket.model.TicketStatus;
 
 import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.projection.ResolutionTimeSummary;
+import com.example.helpdeskticket.repository.projection.TicketDetail;
+import com.example.helpdeskticket.repository.projection.TicketSearchHit;
+import com.example.helpdeskticket.repository.projection.TicketStatusCount;
+import com.example.helpdeskticket.repository.projection.TicketSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
@@ -25,20 +39,211 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     // By status (e.g., all open tickets), sorted by createdAt asc
     List<Ticket> findByStatusOrderByCreatedAtAsc(TicketStatus status);
 
-    // Exists by title and user (prevent duplicate tickets per user)
-    boolean existsByTitleAndUser(String title, User user);
+    // Duplicate detection on the normalized title hash, served by this partial unique (user_id, title_hash) index
+    String TITLE_HASH_UNIQUE_INDEX = "uq_tickets_user_title_hash";
+
+    boolean existsByUserIdAndTitleHash(Long userId, String titleHash);
+
+    boolean existsByUserIdAndTitleHashAndIdNot(Long userId, String titleHash, Long id);
+
+    // Bulk transition completeness check (sees rows the SKIP LOCKED chunks passed over)
+    boolean existsByStatus(TicketStatus status);
+
+    boolean existsByStatusAndResolvedAtBefore(TicketStatus status, LocalDateTime resolvedBefore);
+
+    // Batch duplicate check: candidate (userId, titleHash) rows for a whole batch in one query;
+    // the caller keeps only the exact pairs it asked for
+    @Query("SELECT t.user.id, t.titleHash FROM Ticket t WHERE t.user.id IN :userIds AND t.titleHash IN :titleHashes")
+    List<Object[]> findUserTitleHashes(@Param("userIds") Collection<Long> userIds,
+                                       @Param("titleHashes") Collection<String> titleHashes);
 
     // Custom @Query: Count open tickets for a user (for dashboard/metrics)
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.user.id = :userId AND t.status = :status")
     Long countTicketsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") TicketStatus status);
 
+    // Custom @Query: Ticket counts per status (used to seed/reconcile the in-memory counters)
+    @Query("SELECT new com.example.helpdeskticket.repository.projection.TicketStatusCount(t.status, COUNT(t)) " +
+           "FROM Ticket t GROUP BY t.status")
+    List<TicketStatusCount> countTicketsGroupedByStatus();
+
+    // Custom @Query: Ticket counts per status for a single user
+    @Query("SELECT new com.example.helpdeskticket.repository.projection.TicketStatusCount(t.status, COUNT(t)) " +
+           "FROM Ticket t WHERE t.user.id = :userId GROUP BY t.status")
+    List<TicketStatusCount> countTicketsByUserIdGroupedByStatus(@Param("userId") Long userId);
+
+    // Native full-text search (PostgreSQL) on the GIN-indexed search_vector column, best match first.
+    // Optional status/user filters; keyset continuation after (afterRank, afterId) when given.
+    @Query(value = "SELECT t.id AS id, t.title AS title, t.status AS status, t.user_id AS userId, " +
+                   "t.created_at AS createdAt, t.resolved_at AS resolvedAt, ts_rank(t.search_vector, q) AS rank " +
+                   "FROM tickets t, websearch_to_tsquery('simple', :query) q " +
+                   "WHERE t.search_vector @@ q AND t.is_deleted = false " +
+                   "AND (CAST(:status AS varchar) IS NULL OR t.status = CAST(:status AS varchar)) " +
+                   "AND (CAST(:userId AS bigint) IS NULL OR t.user_id = CAST(:userId AS bigint)) " +
+                   "AND (CAST(:afterRank AS real) IS NULL " +
+                   "     OR (ts_rank(t.search_vector, q), t.id) < (CAST(:afterRank AS real), CAST(:afterId AS bigint))) " +
+                   "ORDER BY rank DESC, t.id DESC LIMIT :limit", nativeQuery = true)
+    List<TicketSearchHit> searchTickets(@Param("query") String query,
+                                        @Param("status") String status,
+                                        @Param("userId") Long userId,
+                                        @Param("afterRank") Float afterRank,
+                                        @Param("afterId") Long afterId,
+                                        @Param("limit") int limit);
+
+    // Native analytics: resolution time aggregates for a status, computed in PostgreSQL
+    @Query(value = "SELECT COUNT(*) AS ticketCount, " +
+                   "AVG(hours) AS averageHours, " +
+                   "PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY hours) AS medianHours, " +
+                   "PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY hours) AS p90Hours, " +
+                   "PERCENTILE_CONT(0.95) WITHIN GROUP (ORDER BY hours) AS p95Hours " +
+                   "FROM (SELECT EXTRACT(EPOCH FROM (resolved_at - created_at)) / 3600.0 AS hours " +
+                   "      FROM tickets WHERE status = :status AND is_deleted = false " +
+                   "      AND resolved_at IS NOT NULL AND created_at IS NOT NULL) resolution", nativeQuery = true)
+    ResolutionTimeSummary summarizeResolutionTimeByStatus(@Param("status") String status);
+
+    // Average of resolution times truncated to whole hours first (as Duration.toHours does), in hours.
+    // Kept for the existing average endpoint; the fractional average is in the summary above.
+    @Query(value = "SELECT AVG(TRUNC(EXTRACT(EPOCH FROM (resolved_at - created_at)) / 3600)) " +
+                   "FROM tickets WHERE status = :status AND is_deleted = false " +
+                   "AND resolved_at IS NOT NULL AND created_at IS NOT NULL", nativeQuery = true)
+    Double findAverageWholeResolutionHoursByStatus(@Param("status") String status);
+
+    // Native analytics: arbitrary resolution time percentile (0..1) for a status, in hours
+    @Query(value = "SELECT PERCENTILE_CONT(:percentile) WITHIN GROUP " +
+                   "(ORDER BY EXTRACT(EPOCH FROM (resolved_at - created_at)) / 3600.0) " +
+                   "FROM tickets WHERE status = :status AND is_deleted = false " +
+                   "AND resolved_at IS NOT NULL AND created_at IS NOT NULL", nativeQuery = true)
+    Double findResolutionTimePercentileByStatus(@Param("status") String status, @Param("percentile") double percentile);
+
     // Custom: Paginated tickets by status (e.g., agent's queue)
     Page<Ticket> findByStatus(TicketStatus status, Pageable pageable);
 
+    // Bulk status transition: moves one bounded chunk of tickets from one status to another.
+    // resolved_at follows the same rules as TicketService.updateTicketStatus.
+    @Modifying
+    @Query(value = "UPDATE tickets SET status = :toStatus, " +
+                   "resolved_at = CASE WHEN :toStatus IN ('RESOLVED', 'CLOSED') THEN COALESCE(resolved_at, CURRENT_TIMESTAMP) " +
+                   "                   WHEN :fromStatus IN ('RESOLVED', 'CLOSED') THEN NULL ELSE resolved_at END " +
+                   "WHERE id IN (SELECT id FROM tickets WHERE status = :fromStatus AND is_deleted = false " +
+                   "             ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int transitionStatusBatch(@Param("fromStatus") String fromStatus,
+                              @Param("toStatus") String toStatus,
+                              @Param("batchSize") int batchSize);
+
+    // Same as above, restricted to tickets resolved before the cutoff
+    @Modifying
+    @Query(value = "UPDATE tickets SET status = :toStatus, " +
+                   "resolved_at = CASE WHEN :toStatus IN ('RESOLVED', 'CLOSED') THEN COALESCE(resolved_at, CURRENT_TIMESTAMP) " +
+                   "                   WHEN :fromStatus IN ('RESOLVED', 'CLOSED') THEN NULL ELSE resolved_at END " +
+                   "WHERE id IN (SELECT id FROM tickets WHERE status = :fromStatus AND is_deleted = false " +
+                   "             AND resolved_at < :resolvedBefore " +
+                   "             ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int transitionStatusBatchResolvedBefore(@Param("fromStatus") String fromStatus,
+                                            @Param("toStatus") String toStatus,
+                                            @Param("resolvedBefore") LocalDateTime resolvedBefore,
+                                            @Param("batchSize") int batchSize);
+
+    // Set-based soft delete of every live ticket of the given users in one statement;
+    // returns (id, status) of each deleted ticket for counter updates and for detaching loaded copies.
+    // A data-modifying CTE on purpose, so not @Modifying: the RETURNING rows are exactly the rows updated,
+    // where a separate SELECT could miss tickets inserted in between, and @Modifying would run it through
+    // executeUpdate, which rejects a result set. Hibernate flushes before a native query; instead of
+    // clearAutomatically, callers detach just the returned rows (EntityDetacher). PostgreSQL only.
+    @Query(value = "WITH deleted AS (UPDATE tickets SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP " +
+                   "  WHERE user_id IN (:userIds) AND is_deleted = false RETURNING id, status) " +
+                   "SELECT id, status FROM deleted", nativeQuery = true)
+    List<Object[]> softDeleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Work queue: locks up to :limit of the oldest tickets in a status (idx_tickets_status_created).
+    // Rows locked by other claimers are skipped, so concurrent agents never wait on or get the same ticket.
+    @Query(value = "SELECT id FROM tickets WHERE status = :status AND is_deleted = false " +
+                   "ORDER BY created_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockOldestByStatus(@Param("status") String status, @Param("limit") int limit);
+
+    // Assigned tickets per agent in a status (seeds AgentWorkloadIndex; idx_tickets_assignee_status)
+    @Query("SELECT t.assignee.id, COUNT(t) FROM Ticket t WHERE t.status = :status AND t.assignee IS NOT NULL " +
+           "GROUP BY t.assignee.id")
+    List<Object[]> countByAssigneeAndStatus(@Param("status") TicketStatus status);
+
     // All tickets with custom sort (use in service: e.g., Sort.by("status").ascending().and(Sort.by("resolvedAt").descending()))
     List<Ticket> findAll(Sort sort);
 
     // Example custom: Unresolved tickets (status != CLOSED), paginated
     // Use a derived query to find tickets with status != CLOSED and order by createdAt desc
     Page<Ticket> findByStatusNotOrderByCreatedAtDesc(TicketStatus status, Pageable pageable);
+
+    // Read models: ticket rows joined with a user summary in one statement (no entity/proxy serialization).
+    // Slices, not pages: one extra row tells whether a next page exists, so no COUNT query runs.
+    String TICKET_SUMMARY_SELECT = "SELECT new com.example.helpdeskticket.repository.projection.TicketSummary(" +
+            "t.id, t.title, t.status, t.createdAt, t.resolvedAt, t.assignee.id, u.id, u.firstName, u.lastName, u.email) " +
+            "FROM Ticket t JOIN t.user u ";
+
+    @Query(TICKET_SUMMARY_SELECT + "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findAllSummaries(Pageable pageable);
+
+    @Query(TICKET_SUMMARY_SELECT + "WHERE u.id = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(TICKET_SUMMARY_SELECT + "WHERE t.status = :status ORDER BY t.createdAt ASC, t.id ASC")
+    Slice<TicketSummary> findSummariesByStatus(@Param("status") TicketStatus status, Pageable pageable);
+
+    @Query(TICKET_SUMMARY_SELECT + "WHERE t.status <> :status ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findSummariesByStatusNot(@Param("status") TicketStatus status, Pageable pageable);
+
+    // Summaries of tickets just changed in this transaction (claims, assignments), in any order
+    @Query(TICKET_SUMMARY_SELECT + "WHERE t.id IN :ids")
+    List<TicketSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.helpdeskticket.repository.projection.TicketDetail(" +
+           "t.id, t.title, t.description, t.status, t.createdAt, t.resolvedAt, u.id, u.firstName, u.lastName, u.email) " +
+           "FROM Ticket t JOIN t.user u WHERE t.id = :id")
+    Optional<TicketDetail> findDetailById(@Param("id") Long id);
+
+    // Streaming exports: forward-only cursors with a JDBC fetch size, read-only entities.
+    // Callers must consume the stream inside a transaction and close it.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Ticket> streamAllBy(Sort sort);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Ticket> streamByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Ticket> streamByStatusOrderByCreatedAtAsc(TicketStatus status);
+
+    // Keyset (cursor) pagination on (createdAt, id) over the summary read model: Slice results, no COUNT query.
+    // The first slice uses the summary queries above (same order); following slices seek past the cursor.
+    @Query(TICKET_SUMMARY_SELECT + "WHERE t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findSummariesAfterCursor(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @Query(TICKET_SUMMARY_SELECT + "WHERE u.id = :userId " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findSummariesByUserIdAfterCursor(@Param("userId") Long userId,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") Long id, Pageable pageable);
+
+    // Status queues are walked oldest first
+    @Query(TICKET_SUMMARY_SELECT + "WHERE t.status = :status " +
+           "AND (t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id)) " +
+           "ORDER BY t.createdAt ASC, t.id ASC")
+    Slice<TicketSummary> findSummariesByStatusAfterCursor(@Param("status") TicketStatus status,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") Long id, Pageable pageable);
+
+    @Query(TICKET_SUMMARY_SELECT + "WHERE t.status <> :status " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<TicketSummary> findSummariesByStatusNotAfterCursor(@Param("status") TicketStatus status,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
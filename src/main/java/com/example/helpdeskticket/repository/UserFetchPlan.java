@@ -0,0 +1,24 @@
+package com.example.helpdeskticket.repository;
+
+import java.util.Locale;
+
+// Fetch plans for User queries, selectable per request
+public enum UserFetchPlan {
+    SUMMARY,             // user columns (+ profile) only - "User.summary" graph
+    WITH_ROLES,          // + roles, loaded for the whole page in one extra statement - "User.withRoles" graph
+    WITH_LOCATION_PATH;  // + village -> sector -> district -> province, joined in the same statement
+
+    // Accepts "summary", "withRoles", "with-roles", "WITH_ROLES", ...
+    public static UserFetchPlan from(String value) {
+        if (value == null || value.isBlank()) {
+            return SUMMARY;
+        }
+        String normalized = value.replace("-", "").replace("_", "").toUpperCase(Locale.ROOT);
+        for (UserFetchPlan plan : values()) {
+            if (plan.name().replace("_", "").equals(normalized)) {
+                return plan;
+            }
+        }
+        throw new IllegalArgumentException("Unknown fetch plan: " + value);
+    }
+}
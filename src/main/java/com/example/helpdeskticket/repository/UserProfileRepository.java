@@ -7,8 +7,12 @@ import com.example.helpdeskticket.model.UserProfile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,6 +26,13 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
     // Paginated (rare for profiles, but for completeness)
     Page<UserProfile> findAll(Pageable pageable);
 
+    // Set-based soft delete of the profiles of the given users in one statement; returns the deleted profile ids.
+    // Not @Modifying for the same reason as TicketRepository.softDeleteByUserIds (RETURNING result set).
+    @Query(value = "WITH deleted AS (UPDATE user_profiles SET is_deleted = true, deleted_at = CURRENT_TIMESTAMP " +
+                   "  WHERE user_id IN (:userIds) AND is_deleted = false RETURNING id) " +
+                   "SELECT id FROM deleted", nativeQuery = true)
+    List<Long> softDeleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
     // Custom: Find by phone (partial)
     /*
     @Query("SELECT up FROM UserProfile up WHERE up.phone LIKE %:phone%")
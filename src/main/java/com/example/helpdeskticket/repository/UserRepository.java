@@ -4,11 +4,13 @@ import com.example.helpdeskticket.model.Location;
 import com.example.helpdeskticket.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,28 +25,57 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find by first name (partial match), sorted by createdAt desc
     List<User> findByFirstNameContainingIgnoreCaseOrderByCreatedAtDesc(String firstName);
 
+    // Which of these ids belong to live users (batch validation)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Users holding a role (e.g., every AGENT for ticket assignment)
+    @Query("SELECT u.id FROM User u JOIN u.roles r WHERE r.name = :roleName")
+    List<Long> findIdsByRoleName(@Param("roleName") String roleName);
+
+    boolean existsByIdAndRolesName(Long id, String roleName);
+
     // Paginated users by location (e.g., all in a village)
     Page<User> findByLocationId(Long locationId, Pageable pageable);
 
-    // Custom: Users by province code/name (bidirectional: join hierarchy)
-    @Query("SELECT DISTINCT u FROM User u JOIN u.location loc " +
-           "WHERE loc.id IN (SELECT child.id FROM Location child WHERE child.parent IN " +
-           "(SELECT prov FROM Location prov WHERE prov.code = :codeOrName OR prov.name = :codeOrName))")
-    List<User> findByProvinceCodeOrName(@Param("codeOrName") String codeOrName);
+    // Users anywhere under a location subtree: a prefix match on the materialized path (index range scan).
+    // Callers resolve the subtree root's path first, so the LIKE pattern is a constant prefix.
+    @EntityGraph(value = "User.summary")
+    @Query("SELECT u FROM User u JOIN u.location loc WHERE loc.path LIKE CONCAT(:pathPrefix, '%')")
+    List<User> findByLocationPathPrefix(@Param("pathPrefix") String pathPrefix);
 
-    // FIXED: Get province from user's village (traversal)
-    @Query("SELECT l FROM Location l WHERE l.id = (" +
-           "SELECT loc.parent.parent.parent.id FROM User u JOIN u.location loc WHERE u.id = :userId" +
-           ")")
+    // Get province from user's location, whatever its depth: the province is the root whose path prefixes it
+    @Query("SELECT prov FROM User u JOIN u.location loc, Location prov " +
+           "WHERE u.id = :userId AND prov.parent IS NULL AND loc.path LIKE CONCAT(prov.path, '%')")
     Optional<Location> findProvinceByUserId(@Param("userId") Long userId);
 
-    // Alternative: Simplified version for direct location hierarchy
-    @Query("SELECT loc FROM Location loc WHERE loc.level = 1 AND loc.id = (" +
-           "SELECT l.parent.parent.parent.id FROM Location l WHERE l.id = " +
-           "(SELECT u.location.id FROM User u WHERE u.id = :userId)" +
-           ")")
+    // Alternative: same lookup, additionally requiring the root to be a level 1 location
+    @Query("SELECT prov FROM User u JOIN u.location loc, Location prov " +
+           "WHERE u.id = :userId AND prov.parent IS NULL AND prov.level = 1 AND loc.path LIKE CONCAT(prov.path, '%')")
     Optional<Location> findProvinceByUserLocation(@Param("userId") Long userId);
 
     // Paginated all users, with sort example in service: findAll(Sort.by("createdAt").descending())
     Page<User> findAll(Pageable pageable);
+
+    // Fetch plans (named entity graphs on User)
+    @EntityGraph(value = "User.summary")
+    @Query(value = "SELECT u FROM User u", countQuery = "SELECT COUNT(u) FROM User u")
+    Page<User> findAllSummaries(Pageable pageable);
+
+    // To-one path only, so it is safe to paginate in SQL. Hibernate stops expanding a graph when the
+    // same association (Location.parent) repeats, so the ancestry is spelled out as fetch joins.
+    String LOCATION_PATH_FETCH = "LEFT JOIN FETCH u.userProfile " +
+            "JOIN FETCH u.location loc LEFT JOIN FETCH loc.parent p1 " +
+            "LEFT JOIN FETCH p1.parent p2 LEFT JOIN FETCH p2.parent p3 ";
+
+    @Query(value = "SELECT u FROM User u " + LOCATION_PATH_FETCH, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<User> findAllWithLocationPath(Pageable pageable);
+
+    // Collection fetch: load roles for an already paginated set of ids (avoids in-memory pagination)
+    @EntityGraph(value = "User.withRoles")
+    @Query("SELECT DISTINCT u FROM User u WHERE u.id IN :ids")
+    List<User> findAllWithRolesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u FROM User u " + LOCATION_PATH_FETCH + "WHERE loc.path LIKE CONCAT(:pathPrefix, '%')")
+    List<User> findByLocationPathPrefixWithLocationPath(@Param("pathPrefix") String pathPrefix);
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.example.helpdeskticket.repository.projection;
+
+// Id, name and level only - the input of the in-memory location name index
+public record LocationName(Long id, String name, Integer level) {
+}
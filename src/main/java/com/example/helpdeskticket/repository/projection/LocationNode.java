@@ -0,0 +1,5 @@
+package com.example.helpdeskticket.repository.projection;
+
+// Bare tree edge used to build the in-memory location hierarchy index
+public record LocationNode(Long id, Long parentId, Integer level) {
+}
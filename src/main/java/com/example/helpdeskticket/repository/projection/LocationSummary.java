@@ -0,0 +1,11 @@
+package com.example.helpdeskticket.repository.projection;
+
+import com.example.helpdeskticket.model.Location;
+
+// Minimal location fields for read models (no parent/children associations)
+public record LocationSummary(Long id, String name, String code, Integer level) {
+
+    public static LocationSummary of(Location location) {
+        return new LocationSummary(location.getId(), location.getName(), location.getCode(), location.getLevel());
+    }
+}
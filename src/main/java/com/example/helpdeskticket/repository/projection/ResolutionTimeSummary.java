@@ -0,0 +1,14 @@
+package com.example.helpdeskticket.repository.projection;
+
+// Native query projection: resolution time aggregates (in hours) computed by PostgreSQL
+public interface ResolutionTimeSummary {
+    Long getTicketCount();
+
+    Double getAverageHours();
+
+    Double getMedianHours();
+
+    Double getP90Hours();
+
+    Double getP95Hours();
+}
@@ -0,0 +1,17 @@
+package com.example.helpdeskticket.repository.projection;
+
+import com.example.helpdeskticket.model.TicketStatus;
+
+import java.time.LocalDateTime;
+
+// Read model for the ticket detail view; built by a JPQL constructor expression joined with the user
+public record TicketDetail(Long id, String title, String description, TicketStatus status, LocalDateTime createdAt,
+                           LocalDateTime resolvedAt, UserSummary user) {
+
+    // Flat constructor used by the repository queries
+    public TicketDetail(Long id, String title, String description, TicketStatus status, LocalDateTime createdAt,
+                        LocalDateTime resolvedAt, Long userId, String userFirstName, String userLastName, String userEmail) {
+        this(id, title, description, status, createdAt, resolvedAt,
+                new UserSummary(userId, userFirstName, userLastName, userEmail));
+    }
+}
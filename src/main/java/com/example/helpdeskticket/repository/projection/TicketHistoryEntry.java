@@ -0,0 +1,20 @@
+package com.example.helpdeskticket.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Native query projection: one row of a user's ticket history, live or archived
+public interface TicketHistoryEntry {
+    Long getId();
+
+    String getTitle();
+
+    String getStatus();
+
+    Long getUserId();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getResolvedAt();
+
+    Boolean getArchived();
+}
@@ -0,0 +1,20 @@
+package com.example.helpdeskticket.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Native query projection: one full-text search match with its relevance rank
+public interface TicketSearchHit {
+    Long getId();
+
+    String getTitle();
+
+    String getStatus();
+
+    Long getUserId();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getResolvedAt();
+
+    Float getRank();
+}
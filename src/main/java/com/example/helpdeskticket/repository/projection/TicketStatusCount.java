@@ -0,0 +1,7 @@
+package com.example.helpdeskticket.repository.projection;
+
+import com.example.helpdeskticket.model.TicketStatus;
+
+// Lightweight row for "SELECT status, COUNT(*) ... GROUP BY status" aggregates
+public record TicketStatusCount(TicketStatus status, long count) {
+}
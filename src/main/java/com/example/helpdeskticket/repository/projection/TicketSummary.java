@@ -0,0 +1,17 @@
+package com.example.helpdeskticket.repository.projection;
+
+import com.example.helpdeskticket.model.TicketStatus;
+
+import java.time.LocalDateTime;
+
+// Read model for ticket list views; built by a JPQL constructor expression joined with the user
+public record TicketSummary(Long id, String title, TicketStatus status, LocalDateTime createdAt,
+                            LocalDateTime resolvedAt, Long assigneeId, UserSummary user) {
+
+    // Flat constructor used by the repository queries
+    public TicketSummary(Long id, String title, TicketStatus status, LocalDateTime createdAt, LocalDateTime resolvedAt,
+                         Long assigneeId, Long userId, String userFirstName, String userLastName, String userEmail) {
+        this(id, title, status, createdAt, resolvedAt, assigneeId,
+                new UserSummary(userId, userFirstName, userLastName, userEmail));
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.helpdeskticket.repository.projection;
+
+// Minimal user fields embedded in ticket read models (no lazy associations)
+public record UserSummary(Long id, String firstName, String lastName, String email) {
+}
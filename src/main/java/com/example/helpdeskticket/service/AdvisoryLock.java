@@ -0,0 +1,77 @@
+package com.example.helpdeskticket.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Cluster-wide mutual exclusion for maintenance runs (a scheduled job and its manual endpoint), using
+// PostgreSQL session-level advisory locks. The lock is held on a pooled connection of its own, outside any
+// transaction, for the whole run; the run's chunks commit in their own transactions on a second connection.
+@Component
+public class AdvisoryLock {
+
+    private static final Logger log = LoggerFactory.getLogger(AdvisoryLock.class);
+
+    private final DataSource dataSource;
+    private final SQLExceptionTranslator exceptionTranslator;
+
+    public AdvisoryLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.exceptionTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+    }
+
+    // Runs the action while holding the lock for key. Empty, without running it, when another run
+    // (on any instance) holds the lock.
+    public <T> Optional<T> runExclusively(long key, Supplier<T> action) {
+        // Straight from the pool (never a caller's transactional connection), in auto-commit mode
+        try (Connection connection = dataSource.getConnection()) {
+            if (!call(connection, "SELECT pg_try_advisory_lock(?)", key)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(action.get());
+            } finally {
+                unlock(connection, key);
+            }
+        } catch (SQLException e) {
+            DataAccessException translated = exceptionTranslator.translate("advisory lock " + key, null, e);
+            throw translated != null ? translated : new UncategorizedSQLException("advisory lock " + key, null, e);
+        }
+    }
+
+    // A session lock outlives the run if it is not released; a connection that could not release it
+    // is aborted rather than returned to the pool still holding it
+    private static void unlock(Connection connection, long key) throws SQLException {
+        boolean released;
+        try {
+            released = call(connection, "SELECT pg_advisory_unlock(?)", key);
+        } catch (SQLException e) {
+            log.warn("Could not release advisory lock {}; closing its connection", key, e);
+            released = false;
+        }
+        if (!released) {
+            connection.abort(Runnable::run);
+        }
+    }
+
+    private static boolean call(Connection connection, String sql, long key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
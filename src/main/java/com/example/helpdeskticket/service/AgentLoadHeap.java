@@ -0,0 +1,157 @@
+package com.example.helpdeskticket.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Indexed binary min-heap of agents keyed by (load, agent id): the least-loaded agent is at the root,
+// assigning to it and changing any agent's load are O(log n). Not thread-safe; AgentWorkloadIndex guards it.
+final class AgentLoadHeap {
+
+    private long[] agents;
+    private int[] loads;
+    private int size;
+
+    // Agent id -> slot in the heap arrays
+    private final Map<Long, Integer> positions;
+
+    AgentLoadHeap(int expectedAgents) {
+        int capacity = Math.max(expectedAgents, 16);
+        this.agents = new long[capacity];
+        this.loads = new int[capacity];
+        this.positions = new HashMap<>(capacity * 4 / 3 + 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(long agentId) {
+        return positions.containsKey(agentId);
+    }
+
+    // Current load, or -1 for unknown agents
+    int loadOf(long agentId) {
+        Integer position = positions.get(agentId);
+        return position != null ? loads[position] : -1;
+    }
+
+    // Adds the agent, or replaces its load if it is already present
+    void put(long agentId, int load) {
+        Integer position = positions.get(agentId);
+        if (position != null) {
+            setLoad(position, Math.max(load, 0));
+            return;
+        }
+        if (size == agents.length) {
+            agents = Arrays.copyOf(agents, size * 2);
+            loads = Arrays.copyOf(loads, size * 2);
+        }
+        agents[size] = agentId;
+        loads[size] = Math.max(load, 0);
+        positions.put(agentId, size);
+        siftUp(size++);
+    }
+
+    boolean remove(long agentId) {
+        Integer position = positions.remove(agentId);
+        if (position == null) {
+            return false;
+        }
+        int last = --size;
+        if (position != last) {
+            move(last, position);
+            siftDown(position);
+            siftUp(position);
+        }
+        return true;
+    }
+
+    long peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("No agents");
+        }
+        return agents[0];
+    }
+
+    // Takes one more ticket on the least-loaded agent and returns it
+    long assignLeastLoaded() {
+        long agentId = peek();
+        loads[0]++;
+        siftDown(0);
+        return agentId;
+    }
+
+    // Applies a load change (never below zero); false for unknown agents
+    boolean adjust(long agentId, int delta) {
+        Integer position = positions.get(agentId);
+        if (position == null) {
+            return false;
+        }
+        setLoad(position, Math.max(loads[position] + delta, 0));
+        return true;
+    }
+
+    private void setLoad(int position, int load) {
+        int previous = loads[position];
+        loads[position] = load;
+        if (load < previous) {
+            siftUp(position);
+        } else if (load > previous) {
+            siftDown(position);
+        }
+    }
+
+    private void siftUp(int position) {
+        long agentId = agents[position];
+        int load = loads[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(load, agentId, loads[parent], agents[parent])) {
+                break;
+            }
+            move(parent, position);
+            position = parent;
+        }
+        place(agentId, load, position);
+    }
+
+    private void siftDown(int position) {
+        long agentId = agents[position];
+        int load = loads[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && less(loads[right], agents[right], loads[child], agents[child])) {
+                child = right;
+            }
+            if (!less(loads[child], agents[child], load, agentId)) {
+                break;
+            }
+            move(child, position);
+            position = child;
+        }
+        place(agentId, load, position);
+    }
+
+    private void move(int from, int to) {
+        place(agents[from], loads[from], to);
+    }
+
+    private void place(long agentId, int load, int position) {
+        agents[position] = agentId;
+        loads[position] = load;
+        positions.put(agentId, position);
+    }
+
+    // Ties go to the lowest agent id, so assignment order is deterministic
+    private static boolean less(int load, long agentId, int otherLoad, long otherAgentId) {
+        return load < otherLoad || (load == otherLoad && agentId < otherAgentId);
+    }
+}
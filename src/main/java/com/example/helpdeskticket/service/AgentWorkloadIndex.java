@@ -0,0 +1,232 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.repository.TicketRepository;
+import com.example.helpdeskticket.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory IN_PROGRESS ticket count per AGENT user, kept in a least-loaded heap for O(log n) assignment.
+// Maintained incrementally as assigned tickets change status, and rebuilt from the database periodically.
+@Component
+public class AgentWorkloadIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AgentWorkloadIndex.class);
+
+    public static final String AGENT_ROLE = "AGENT";
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+
+    // Guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private AgentLoadHeap heap;
+    // Reservations per agent whose transactions have not completed yet. The database does not show them,
+    // so a rebuild adds them back onto the counts it read.
+    private final Map<Long, Integer> pendingReservations = new HashMap<>();
+    // One log per rebuild that is reading the database: load changes committed and agents registered
+    // meanwhile are recorded here and replayed onto the rebuilt heap, since the old heap is dropped
+    private final List<RebuildLog> rebuildLogs = new ArrayList<>();
+
+    public AgentWorkloadIndex(TicketRepository ticketRepository, UserRepository userRepository) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+    }
+
+    // Picks the least-loaded agent and counts the ticket against it right away, so concurrent assignments
+    // spread out; the reservation is released again if the surrounding transaction rolls back.
+    // Returns null when there are no agents.
+    public Long reserveLeastLoaded() {
+        long agentId;
+        lock.lock();
+        try {
+            AgentLoadHeap current = heap();
+            if (current.isEmpty()) {
+                return null;
+            }
+            agentId = current.assignLeastLoaded();
+            if (TransactionCallbacks.afterCompletion(committed -> reservationCompleted(agentId, committed))) {
+                pendingReservations.merge(agentId, 1, Integer::sum);
+            } else {
+                logChange(agentId, 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return agentId;
+    }
+
+    // Adds a user confirmed to hold the AGENT role, so one granted the role since the last rebuild is
+    // counted from its first assignment on. No-op for agents already in the heap.
+    public void registerAgent(Long agentId) {
+        if (agentId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            AgentLoadHeap current = heap();
+            if (!current.contains(agentId)) {
+                current.put(agentId, 0);
+                for (RebuildLog changes : rebuildLogs) {
+                    changes.registered.add(agentId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Mutations - applied only once the surrounding transaction commits
+    public void statusChanged(Long agentId, TicketStatus oldStatus, TicketStatus newStatus) {
+        int delta = (newStatus == TicketStatus.IN_PROGRESS ? 1 : 0) - (oldStatus == TicketStatus.IN_PROGRESS ? 1 : 0);
+        loadChanged(agentId, delta);
+    }
+
+    public void loadChanged(Long agentId, int delta) {
+        if (agentId == null || delta == 0) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> adjust(agentId, delta));
+    }
+
+    // Read operations
+    public int getLoad(Long agentId) {
+        lock.lock();
+        try {
+            return heap().loadOf(agentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getAgentCount() {
+        lock.lock();
+        try {
+            return heap().size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Rebuild operations (agents and their IN_PROGRESS counts, read from the database)
+    public void rebuildAfterCommit() {
+        TransactionCallbacks.afterCommit(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${helpdesk.tickets.assignment.rebuild-interval-ms:300000}",
+               initialDelayString = "${helpdesk.tickets.assignment.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        RebuildLog changes = new RebuildLog();
+        lock.lock();
+        try {
+            rebuildLogs.add(changes);
+        } finally {
+            lock.unlock();
+        }
+
+        List<Long> agentIds;
+        List<Object[]> loads;
+        try {
+            agentIds = userRepository.findIdsByRoleName(AGENT_ROLE);
+            loads = ticketRepository.countByAssigneeAndStatus(TicketStatus.IN_PROGRESS);
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                rebuildLogs.remove(changes);
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        AgentLoadHeap rebuilt = new AgentLoadHeap(agentIds.size());
+        for (Long agentId : agentIds) {
+            rebuilt.put(agentId, 0);
+        }
+        for (Object[] row : loads) {
+            long agentId = ((Number) row[0]).longValue();
+            // Tickets still assigned to users who lost the AGENT role do not count
+            if (rebuilt.contains(agentId)) {
+                rebuilt.put(agentId, ((Number) row[1]).intValue());
+            }
+        }
+
+        // A change that committed just before the reads may be counted twice; the next rebuild evens it out
+        lock.lock();
+        try {
+            rebuildLogs.remove(changes);
+            for (Long agentId : changes.registered) {
+                if (!rebuilt.contains(agentId)) {
+                    rebuilt.put(agentId, 0);
+                }
+            }
+            changes.deltas.forEach(rebuilt::adjust);
+            pendingReservations.forEach(rebuilt::adjust);
+            heap = rebuilt;
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Agent workload index rebuilt with {} agents", rebuilt.size());
+    }
+
+    // Helper methods
+    private void adjust(long agentId, int delta) {
+        lock.lock();
+        try {
+            if (heap != null) {
+                heap.adjust(agentId, delta);
+            }
+            logChange(agentId, delta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A committed reservation is in the database now; a rolled-back one is released
+    private void reservationCompleted(long agentId, boolean committed) {
+        lock.lock();
+        try {
+            pendingReservations.computeIfPresent(agentId, (id, count) -> count > 1 ? count - 1 : null);
+            if (!committed && heap != null) {
+                heap.adjust(agentId, -1);
+            }
+            if (committed) {
+                // No longer pending, and possibly committed after a running rebuild read the database
+                logChange(agentId, 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds lock
+    private void logChange(long agentId, int delta) {
+        for (RebuildLog changes : rebuildLogs) {
+            changes.deltas.merge(agentId, delta, Integer::sum);
+        }
+    }
+
+    // Caller holds lock
+    private AgentLoadHeap heap() {
+        if (heap == null) {
+            rebuild();
+        }
+        return heap;
+    }
+
+    // Identity equality on purpose: concurrent rebuilds may hold equal logs, and each removes its own
+    private static final class RebuildLog {
+        final Map<Long, Integer> deltas = new HashMap<>();
+        final Set<Long> registered = new HashSet<>();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.helpdeskticket.service;
+
+import java.util.List;
+
+// One slice of a keyset-paginated listing; pass nextCursor back to fetch the following slice
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorPage(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    // Getters
+    public List<T> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasNext() { return hasNext; }
+    public int getSize() { return content.size(); }
+}
@@ -0,0 +1,22 @@
+package com.example.helpdeskticket.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+
+// Native bulk UPDATEs bypass the persistence context: services drop any managed copy of the rows they changed,
+// so the transaction does not keep (or flush) the stale entity. Used where a RETURNING statement cannot be
+// @Modifying(clearAutomatically = true), and only the changed rows need to go.
+@Component
+public class EntityDetacher {
+
+    private final EntityManager entityManager;
+
+    public EntityDetacher(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // getReference does not hit the database; it returns the managed copy if there is one
+    public void detach(Class<?> entityClass, Long id) {
+        entityManager.detach(entityManager.getReference(entityClass, id));
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.repository.LocationRepository;
+import com.example.helpdeskticket.repository.projection.LocationNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Immutable, preloaded index of the province/district/sector/village tree.
+// Rebuilt from the database after every committed location change and swapped in atomically.
+@Component
+public class LocationHierarchyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationHierarchyIndex.class);
+
+    private final LocationRepository locationRepository;
+
+    private volatile Snapshot snapshot;
+
+    // Serializes rebuilds
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public LocationHierarchyIndex(LocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    // Read operations
+    public boolean contains(Long locationId) {
+        return snapshot().indexOf(locationId) >= 0;
+    }
+
+    public Integer getLevel(Long locationId) {
+        Snapshot current = snapshot();
+        int node = current.indexOf(locationId);
+        return node >= 0 ? current.levels[node] : null;
+    }
+
+    public Long getProvinceId(Long locationId) {
+        Snapshot current = snapshot();
+        int node = current.indexOf(locationId);
+        return node >= 0 ? current.ids[current.roots[node]] : null;
+    }
+
+    public boolean hasChildren(Long locationId) {
+        Snapshot current = snapshot();
+        int node = current.indexOf(locationId);
+        return node >= 0 && current.exit[node] > current.entry[node];
+    }
+
+    // O(1) containment check on Euler-tour intervals; a location is its own ancestor
+    public boolean isAncestorOrSelf(Long ancestorId, Long locationId) {
+        Snapshot current = snapshot();
+        int ancestor = current.indexOf(ancestorId);
+        int node = current.indexOf(locationId);
+        return ancestor >= 0 && node >= 0
+                && current.entry[ancestor] <= current.entry[node]
+                && current.exit[node] <= current.exit[ancestor];
+    }
+
+    // All descendants in pre-order (parents before children), excluding the location itself
+    public List<Long> getDescendantIds(Long locationId) {
+        Snapshot current = snapshot();
+        int node = current.indexOf(locationId);
+        if (node < 0) {
+            return List.of();
+        }
+        List<Long> descendants = new ArrayList<>(current.exit[node] - current.entry[node]);
+        for (int position = current.entry[node] + 1; position <= current.exit[node]; position++) {
+            descendants.add(current.ids[current.order[position]]);
+        }
+        return descendants;
+    }
+
+    // Ancestors from the direct parent up to the province, excluding the location itself
+    public List<Long> getAncestorIds(Long locationId) {
+        Snapshot current = snapshot();
+        int node = current.indexOf(locationId);
+        if (node < 0) {
+            return List.of();
+        }
+        List<Long> ancestors = new ArrayList<>();
+        for (int parent = current.parents[node]; parent >= 0; parent = current.parents[parent]) {
+            ancestors.add(current.ids[parent]);
+        }
+        return ancestors;
+    }
+
+    public int size() {
+        return snapshot().ids.length;
+    }
+
+    // Rebuild operations
+    public void rebuildAfterCommit() {
+        TransactionCallbacks.afterCommit(this::rebuild);
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            snapshot = Snapshot.build(locationRepository.findAllNodes());
+            log.debug("Location hierarchy index rebuilt with {} locations", snapshot.ids.length);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuildLock.lock();
+            try {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    // Primitive-array tree: node i has id ids[i] (sorted), parent parents[i] (-1 for roots),
+    // province roots[i], and occupies positions entry[i]..exit[i] of the pre-order array "order"
+    static final class Snapshot {
+        private final long[] ids;
+        private final int[] parents;
+        private final int[] levels;
+        private final int[] roots;
+        private final int[] entry;
+        private final int[] exit;
+        private final int[] order;
+
+        private Snapshot(long[] ids, int[] parents, int[] levels, int[] roots, int[] entry, int[] exit, int[] order) {
+            this.ids = ids;
+            this.parents = parents;
+            this.levels = levels;
+            this.roots = roots;
+            this.entry = entry;
+            this.exit = exit;
+            this.order = order;
+        }
+
+        int indexOf(Long id) {
+            return id == null ? -1 : Arrays.binarySearch(ids, id);
+        }
+
+        static Snapshot build(List<LocationNode> nodes) {
+            int n = nodes.size();
+            List<LocationNode> sorted = new ArrayList<>(nodes);
+            sorted.sort((a, b) -> Long.compare(a.id(), b.id()));
+
+            long[] ids = new long[n];
+            int[] levels = new int[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = sorted.get(i).id();
+                levels[i] = sorted.get(i).level() != null ? sorted.get(i).level() : 0;
+            }
+
+            // Parent links; a missing (e.g. soft-deleted) parent makes the node a root
+            int[] parents = new int[n];
+            int[] childCounts = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                Long parentId = sorted.get(i).parentId();
+                parents[i] = parentId != null ? Arrays.binarySearch(ids, parentId) : -1;
+                if (parents[i] < 0) {
+                    parents[i] = -1;
+                }
+                childCounts[parents[i] + 1]++;
+            }
+
+            // Children in CSR form; slot 0 collects the roots
+            int[] childStart = new int[n + 2];
+            for (int i = 0; i <= n; i++) {
+                childStart[i + 1] = childStart[i] + childCounts[i];
+            }
+            int[] fill = Arrays.copyOf(childStart, n + 1);
+            int[] children = new int[n];
+            for (int i = 0; i < n; i++) {
+                children[fill[parents[i] + 1]++] = i;
+            }
+
+            // Iterative DFS from every root assigns pre-order positions and subtree intervals
+            int[] entry = new int[n];
+            int[] exit = new int[n];
+            int[] roots = new int[n];
+            int[] order = new int[n];
+            int[] stack = new int[n];
+            int[] cursor = new int[n];
+            boolean[] visited = new boolean[n];
+            int position = 0;
+
+            for (int r = childStart[0]; r < childStart[1]; r++) {
+                int root = children[r];
+                int top = 0;
+                stack[top] = root;
+                cursor[root] = childStart[root + 1];
+                visited[root] = true;
+                roots[root] = root;
+                entry[root] = position;
+                order[position++] = root;
+
+                while (top >= 0) {
+                    int node = stack[top];
+                    if (cursor[node] < childStart[node + 2]) {
+                        int child = children[cursor[node]++];
+                        if (visited[child]) {
+                            continue;
+                        }
+                        visited[child] = true;
+                        roots[child] = root;
+                        cursor[child] = childStart[child + 1];
+                        entry[child] = position;
+                        order[position++] = child;
+                        stack[++top] = child;
+                    } else {
+                        exit[node] = position - 1;
+                        top--;
+                    }
+                }
+            }
+
+            // Nodes caught in a parent cycle are unreachable from any root; index them as isolated roots
+            for (int i = 0; i < n; i++) {
+                if (!visited[i]) {
+                    parents[i] = -1;
+                    roots[i] = i;
+                    entry[i] = position;
+                    exit[i] = position;
+                    order[position++] = i;
+                }
+            }
+
+            return new Snapshot(ids, parents, levels, roots, entry, exit, order);
+        }
+    }
+}
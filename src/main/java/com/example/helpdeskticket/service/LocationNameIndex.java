@@ -0,0 +1,240 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.repository.LocationRepository;
+import com.example.helpdeskticket.repository.projection.LocationName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+// Immutable trigram index over location names for autocomplete (prefix and infix matching).
+// Rebuilt from the database after every committed location change and swapped in atomically.
+@Component
+public class LocationNameIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationNameIndex.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final LocationRepository locationRepository;
+
+    private volatile Snapshot snapshot;
+
+    // Serializes rebuilds
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public LocationNameIndex(LocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    // Ids of the best matches, best first: exact name, then name prefix, then word prefix, then infix;
+    // ties go to higher-level locations (provinces first), then shorter and alphabetically earlier names
+    public List<Long> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot();
+        // Queries too short for a trigram scan the names, so they match infixes like the database fallback does
+        int[] candidates = normalized.length() < 3
+                ? current.scanMatches(normalized)
+                : current.trigramMatches(normalized);
+
+        return IntStream.of(candidates)
+                .boxed()
+                .sorted(current.ranking(normalized))
+                .limit(limit)
+                .map(doc -> current.ids[doc])
+                .toList();
+    }
+
+    public int size() {
+        return snapshot().ids.length;
+    }
+
+    // Rebuild operations
+    public void rebuildAfterCommit() {
+        TransactionCallbacks.afterCommit(this::rebuild);
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            snapshot = Snapshot.build(locationRepository.findAllNames());
+            log.debug("Location name index rebuilt with {} locations", snapshot.ids.length);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuildLock.lock();
+            try {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    // Case- and accent-insensitive form used for both indexing and querying
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static long trigram(String value, int start) {
+        return ((long) value.charAt(start) << 32) | ((long) value.charAt(start + 1) << 16) | value.charAt(start + 2);
+    }
+
+    // Document i has id ids[i], normalized name names[i] and level levels[i];
+    // postings maps each trigram to its sorted documents
+    static final class Snapshot {
+        private final long[] ids;
+        private final String[] names;
+        private final int[] levels;
+        private final Map<Long, int[]> postings;
+
+        private Snapshot(long[] ids, String[] names, int[] levels, Map<Long, int[]> postings) {
+            this.ids = ids;
+            this.names = names;
+            this.levels = levels;
+            this.postings = postings;
+        }
+
+        int[] scanMatches(String query) {
+            return IntStream.range(0, names.length).filter(doc -> names[doc].contains(query)).toArray();
+        }
+
+        int[] trigramMatches(String query) {
+            Set<Long> grams = new LinkedHashSet<>();
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                grams.add(trigram(query, i));
+            }
+
+            // Intersect the posting lists, shortest first, then confirm the substring
+            List<int[]> lists = new ArrayList<>(grams.size());
+            for (Long gram : grams) {
+                int[] docs = postings.get(gram);
+                if (docs == null) {
+                    return new int[0];
+                }
+                lists.add(docs);
+            }
+            lists.sort(Comparator.comparingInt(docs -> docs.length));
+
+            int[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return IntStream.of(result).filter(doc -> names[doc].contains(query)).toArray();
+        }
+
+        Comparator<Integer> ranking(String query) {
+            return Comparator.<Integer>comparingInt(doc -> matchRank(names[doc], query))
+                    .thenComparingInt(doc -> levels[doc])
+                    .thenComparingInt(doc -> names[doc].length())
+                    .thenComparing(doc -> names[doc])
+                    .thenComparingLong(doc -> ids[doc]);
+        }
+
+        private static int matchRank(String name, String query) {
+            if (name.equals(query)) {
+                return 0;
+            }
+            if (name.startsWith(query)) {
+                return 1;
+            }
+            for (int at = name.indexOf(query); at > 0; at = name.indexOf(query, at + 1)) {
+                if (!Character.isLetterOrDigit(name.charAt(at - 1))) {
+                    return 2;
+                }
+            }
+            return 3;
+        }
+
+        private static int[] intersect(int[] left, int[] right) {
+            int[] result = new int[Math.min(left.length, right.length)];
+            int size = 0;
+            for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    result[size++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+
+        static Snapshot build(List<LocationName> rows) {
+            int n = rows.size();
+            long[] ids = new long[n];
+            String[] names = new String[n];
+            int[] levels = new int[n];
+            Map<Long, Postings> building = new HashMap<>();
+
+            for (int doc = 0; doc < n; doc++) {
+                LocationName row = rows.get(doc);
+                ids[doc] = row.id();
+                names[doc] = normalize(row.name());
+                levels[doc] = row.level() != null ? row.level() : 0;
+                for (int i = 0; i + 3 <= names[doc].length(); i++) {
+                    building.computeIfAbsent(trigram(names[doc], i), gram -> new Postings()).add(doc);
+                }
+            }
+
+            Map<Long, int[]> postings = new HashMap<>(building.size() * 2);
+            building.forEach((gram, docs) -> postings.put(gram, docs.toArray()));
+
+            return new Snapshot(ids, names, levels, postings);
+        }
+    }
+
+    // Growable, duplicate-free posting list; documents are added in increasing order
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(docs, size);
+        }
+    }
+}
@@ -2,22 +2,47 @@ package com.example.helpdeskticket.service;
 
 import com.example.helpdeskticket.model.Location;
 import com.example.helpdeskticket.repository.LocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class LocationService {
 
+    private static final Logger log = LoggerFactory.getLogger(LocationService.class);
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final LocationRepository locationRepository;
+    private final LocationHierarchyIndex hierarchyIndex;
+    private final LocationNameIndex nameIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final boolean hierarchyIndexEnabled;
+    private final boolean nameIndexEnabled;
 
-    public LocationService(LocationRepository locationRepository) {
+    public LocationService(LocationRepository locationRepository, LocationHierarchyIndex hierarchyIndex,
+                           LocationNameIndex nameIndex, ReferenceDataCache referenceDataCache,
+                           @Value("${helpdesk.locations.hierarchy-index.enabled:true}") boolean hierarchyIndexEnabled,
+                           @Value("${helpdesk.locations.name-index.enabled:true}") boolean nameIndexEnabled) {
         this.locationRepository = locationRepository;
+        this.hierarchyIndex = hierarchyIndex;
+        this.nameIndex = nameIndex;
+        this.referenceDataCache = referenceDataCache;
+        this.hierarchyIndexEnabled = hierarchyIndexEnabled;
+        this.nameIndexEnabled = nameIndexEnabled;
     }
 
     // Basic CRUD operations
@@ -44,7 +69,11 @@ public class LocationService {
                     "' already exists under this parent");
         }
         
-        return locationRepository.save(location);
+        Location savedLocation = locationRepository.save(location);
+        // The path ends with the location's own id, so it is only known once the row is inserted
+        savedLocation.setPath(pathUnder(parentId, savedLocation.getId()));
+        refreshAfterCommit();
+        return savedLocation;
     }
 
     public Location update(Long id, Location location) {
@@ -56,6 +85,12 @@ public class LocationService {
         if (!isValidLocationHierarchy(location)) {
             throw new IllegalArgumentException("Invalid location hierarchy");
         }
+
+        // A location cannot be moved under itself or one of its descendants
+        Long newParentId = parentIdOf(location);
+        if (newParentId != null && (newParentId.equals(id) || isDescendantOf(newParentId, id))) {
+            throw new IllegalArgumentException("Location cannot be moved under itself or one of its descendants");
+        }
         
         // Check for duplicate names under same parent (excluding current location)
         Long parentId = location.getParent() != null ? location.getParent().getId() : null;
@@ -67,13 +102,20 @@ public class LocationService {
                     "' already exists under this parent");
         }
         
+        Long oldParentId = parentIdOf(existingLocation);
+
         // Update fields
         existingLocation.setName(location.getName());
         existingLocation.setCode(location.getCode());
         existingLocation.setParent(location.getParent());
         existingLocation.setLevel(location.getLevel());
         
-        return locationRepository.save(existingLocation);
+        Location savedLocation = locationRepository.save(existingLocation);
+        if (!Objects.equals(oldParentId, newParentId) || savedLocation.getPath() == null) {
+            movePath(savedLocation, newParentId);
+        }
+        refreshAfterCommit();
+        return savedLocation;
     }
 
     public void deleteById(Long id) {
@@ -87,6 +129,7 @@ public class LocationService {
         }
         
         locationRepository.deleteById(id);
+        refreshAfterCommit();
     }
 
     // Custom business logic operations
@@ -134,10 +177,14 @@ public class LocationService {
         
         // Level should be consistent with parent's level
         if (location.getParent() != null && location.getParent().getId() != null) {
-            // Get the actual parent level from database
-            Integer parentLevel = locationRepository.findById(location.getParent().getId())
-                    .map(Location::getLevel)
-                    .orElseThrow(() -> new IllegalArgumentException("Parent location not found with id: " + location.getParent().getId()));
+            // Parent level from the hierarchy index, falling back to the database for unindexed parents
+            Long parentId = location.getParent().getId();
+            Integer parentLevel = hierarchyIndexEnabled ? hierarchyIndex.getLevel(parentId) : null;
+            if (parentLevel == null) {
+                parentLevel = locationRepository.findById(parentId)
+                        .map(Location::getLevel)
+                        .orElseThrow(() -> new IllegalArgumentException("Parent location not found with id: " + parentId));
+            }
             
             if (location.getLevel() != parentLevel + 1) {
                 return false;
@@ -147,46 +194,155 @@ public class LocationService {
         return true;
     }
 
-    // Advanced hierarchy operations
+    // Advanced hierarchy operations (in-memory hierarchy index, or recursive CTEs when it is disabled)
     @Transactional(readOnly = true)
     public List<Location> findFullHierarchy(Long locationId) {
-        // This would typically use a recursive query to get all descendants
-        // For now, returning direct children. You can implement full recursion as needed.
-        return findDirectChildren(locationId);
+        // The location itself followed by its whole subtree, parents before children
+        if (!hierarchyIndexEnabled) {
+            return locationRepository.findById(locationId)
+                    .map(location -> {
+                        List<Location> hierarchy = new ArrayList<>();
+                        hierarchy.add(location);
+                        hierarchy.addAll(locationRepository.findAllDescendantsRecursive(locationId));
+                        return hierarchy;
+                    })
+                    .orElse(List.of());
+        }
+        if (!hierarchyIndex.contains(locationId)) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        ids.add(locationId);
+        ids.addAll(hierarchyIndex.getDescendantIds(locationId));
+        return findAllInOrder(ids);
     }
 
     @Transactional(readOnly = true)
     public Optional<Location> findProvinceByChildLocation(Long childLocationId) {
-        // This would use the native recursive query commented in the repository
-        // For now, we'll traverse up the hierarchy
-        return locationRepository.findById(childLocationId)
-                .map(location -> {
-                    Location current = location;
-                    while (current.getParent() != null) {
-                        current = current.getParent();
-                    }
-                    return current;
-                });
+        if (!hierarchyIndexEnabled) {
+            return locationRepository.findProvinceByLocationIdRecursive(childLocationId);
+        }
+        Long provinceId = hierarchyIndex.getProvinceId(childLocationId);
+        return provinceId != null ? locationRepository.findById(provinceId) : Optional.empty();
     }
 
     @Transactional(readOnly = true)
     public List<Location> findAllDescendants(Long parentId) {
-        // This method would benefit from the native recursive CTE query
-        // For now, we'll get direct children. You can implement full recursion later.
-        return findDirectChildren(parentId);
+        if (!hierarchyIndexEnabled) {
+            return locationRepository.findAllDescendantsRecursive(parentId);
+        }
+        return findAllInOrder(hierarchyIndex.getDescendantIds(parentId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Location> findAncestors(Long locationId) {
+        // Direct parent first, province last
+        if (!hierarchyIndexEnabled) {
+            return locationRepository.findAncestorsRecursive(locationId);
+        }
+        return findAllInOrder(hierarchyIndex.getAncestorIds(locationId));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isDescendantOf(Long locationId, Long ancestorId) {
+        if (!hierarchyIndexEnabled) {
+            return locationRepository.findAncestorsRecursive(locationId).stream()
+                    .anyMatch(ancestor -> ancestor.getId().equals(ancestorId));
+        }
+        return !locationId.equals(ancestorId) && hierarchyIndex.isAncestorOrSelf(ancestorId, locationId);
     }
 
     // Additional helper methods
     @Transactional(readOnly = true)
     public boolean isProvince(Long locationId) {
-        return locationRepository.findById(locationId)
-                .map(location -> location.getLevel() == 1)
-                .orElse(false);
+        if (!hierarchyIndexEnabled) {
+            return locationRepository.findById(locationId)
+                    .map(location -> location.getLevel() == 1)
+                    .orElse(false);
+        }
+        Integer level = hierarchyIndex.getLevel(locationId);
+        return level != null && level == 1;
     }
 
     @Transactional(readOnly = true)
     public boolean hasChildren(Long locationId) {
-        return !findDirectChildren(locationId).isEmpty();
+        if (!hierarchyIndexEnabled) {
+            return !findDirectChildren(locationId).isEmpty();
+        }
+        return hierarchyIndex.hasChildren(locationId);
+    }
+
+    public void rebuildHierarchyIndex() {
+        rebuildPaths();
+        hierarchyIndex.rebuildAfterCommit();
+        nameIndex.rebuildAfterCommit();
+        referenceDataCache.evictLocationsAfterCommit();
+    }
+
+    // Materialized path maintenance
+    public int rebuildPaths() {
+        int updated = locationRepository.rebuildAllPaths();
+        referenceDataCache.evictLocationsAfterCommit();
+        log.info("Rebuilt materialized paths, {} locations updated", updated);
+        return updated;
+    }
+
+    private String pathUnder(Long parentId, Long id) {
+        if (parentId == null) {
+            return "/" + id + "/";
+        }
+        String parentPath = locationRepository.findPathById(parentId).orElse(null);
+        if (parentPath == null) {
+            // Parent predates path maintenance; repair the whole tree once, then read it again
+            rebuildPaths();
+            parentPath = locationRepository.findPathById(parentId)
+                    .orElseThrow(() -> new IllegalArgumentException("Parent location not found with id: " + parentId));
+        }
+        return parentPath + id + "/";
+    }
+
+    // Re-prefix the location and its whole subtree in one UPDATE
+    private void movePath(Location location, Long newParentId) {
+        String oldPath = location.getPath();
+        String newPath = pathUnder(newParentId, location.getId());
+        if (oldPath == null) {
+            rebuildPaths();
+        } else if (!oldPath.equals(newPath)) {
+            locationRepository.movePathPrefix(oldPath, oldPath.length(), newPath);
+        }
+        location.setPath(newPath);
+    }
+
+    private void refreshAfterCommit() {
+        referenceDataCache.evictLocationsAfterCommit();
+        if (hierarchyIndexEnabled) {
+            hierarchyIndex.rebuildAfterCommit();
+        }
+        if (nameIndexEnabled) {
+            nameIndex.rebuildAfterCommit();
+        }
+    }
+
+    private List<Location> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Location> byId = new HashMap<>();
+        for (Location location : locationRepository.findAllById(ids)) {
+            byId.put(location.getId(), location);
+        }
+        List<Location> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Location location = byId.get(id);
+            if (location != null) {
+                ordered.add(location);
+            }
+        }
+        return ordered;
+    }
+
+    private static Long parentIdOf(Location location) {
+        return location.getParent() != null ? location.getParent().getId() : null;
     }
 
     // Bulk operations
@@ -198,10 +354,22 @@ public class LocationService {
     // Search operations
     @Transactional(readOnly = true)
     public List<Location> findByNameContainingIgnoreCase(String name) {
-        // You would need to add this method to your repository
-        // For now, this is a placeholder
-        return locationRepository.findAll().stream()
-                .filter(location -> location.getName().toLowerCase().contains(name.toLowerCase()))
-                .toList();
+        return findByNameContainingIgnoreCase(name, 20);
+    }
+
+    // Ranked prefix/infix name search for autocomplete (in-memory trigram index, or a database query when disabled)
+    @Transactional(readOnly = true)
+    public List<Location> findByNameContainingIgnoreCase(String name, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        if (name == null || name.isBlank()) {
+            return List.of();
+        }
+        if (!nameIndexEnabled) {
+            return locationRepository.findByNameContainingIgnoreCaseOrderByLevelAscNameAsc(name.trim(),
+                    PageRequest.of(0, limit));
+        }
+        return findAllInOrder(nameIndex.search(name, limit));
     }
 }
\ No newline at end of file
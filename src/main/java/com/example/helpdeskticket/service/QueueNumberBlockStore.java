@@ -0,0 +1,41 @@
+package com.example.helpdeskticket.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+// Reserves queue number blocks on the main pool, each reservation committed on its own. Callers take their
+// numbers before opening a transaction (see TicketService.createTicket), so a refill never waits for a pool
+// connection while the caller already holds one.
+@Component
+public class QueueNumberBlockStore {
+
+    // Reserves the next block of blockSize daily numbers at a live location in one upsert (the row lock
+    // serializes concurrent instances); returns the block's last number, or nothing for an unknown location
+    private static final String RESERVE_BLOCK =
+            "INSERT INTO queue_number_blocks (location_id, queue_date, last_value) " +
+            "SELECT id, ?, ? FROM locations WHERE id = ? AND is_deleted = false " +
+            "ON CONFLICT (location_id, queue_date) " +
+            "DO UPDATE SET last_value = queue_number_blocks.last_value + EXCLUDED.last_value " +
+            "RETURNING last_value";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate outsideTransaction;
+
+    public QueueNumberBlockStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Never joins a caller's transaction: numbers handed out from a block must stay reserved even if
+        // that transaction rolls back
+        this.outsideTransaction = new TransactionTemplate(transactionManager);
+        this.outsideTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_NOT_SUPPORTED);
+    }
+
+    // Last number of the reserved block, or null for an unknown location
+    public Integer reserveBlock(Long locationId, LocalDate queueDate, int blockSize) {
+        return outsideTransaction.execute(status -> jdbcTemplate.query(RESERVE_BLOCK,
+                rs -> rs.next() ? rs.getInt(1) : null, queueDate, blockSize, locationId));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.helpdeskticket.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Daily queue numbers per branch (a location). Numbers are handed out from in-memory blocks reserved from
+// the branch's counter row in queue_number_blocks, so most numbers need no database round trip and two
+// instances never issue the same number. Numbers increase within an instance; across instances they
+// interleave block by block, and whatever is left of a block at shutdown or at day end is skipped.
+@Service
+public class QueueNumberService {
+
+    private final QueueNumberBlockStore blockStore;
+    private final int blockSize;
+
+    // Counters are striped by (location, day): each stripe has its own lock, so branches only contend
+    // with the few others hashed to the same stripe, and a block refill blocks one stripe only.
+    // A refill takes a pool connection of its own, so issue numbers before opening a transaction.
+    private final Stripe[] stripes;
+
+    public QueueNumberService(QueueNumberBlockStore blockStore,
+                              @Value("${helpdesk.queue-numbers.block-size:20}") int blockSize,
+                              @Value("${helpdesk.queue-numbers.stripes:16}") int stripeCount) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Queue number block size must be positive");
+        }
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Queue number stripe count must be positive");
+        }
+        this.blockStore = blockStore;
+        this.blockSize = blockSize;
+        // Power of two, so a stripe is picked with a mask
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // Next number of today's queue at the branch
+    public QueueNumber issue(Long locationId) {
+        if (locationId == null) {
+            throw new IllegalArgumentException("Branch location is required for a queue number");
+        }
+        LocalDate today = LocalDate.now();
+        BlockKey key = new BlockKey(locationId, today);
+        Stripe stripe = stripes[(key.hashCode() ^ (key.hashCode() >>> 16)) & (stripes.length - 1)];
+        stripe.lock.lock();
+        try {
+            Block block = stripe.blocks.get(key);
+            if (block == null || block.next > block.last) {
+                block = reserveBlock(key);
+                // Yesterday's counters are never used again
+                stripe.blocks.keySet().removeIf(k -> k.queueDate().isBefore(today));
+                stripe.blocks.put(key, block);
+            }
+            return new QueueNumber(locationId, today, block.next++);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    private Block reserveBlock(BlockKey key) {
+        Integer last = blockStore.reserveBlock(key.locationId(), key.queueDate(), blockSize);
+        if (last == null) {
+            throw new IllegalArgumentException("Location not found with id: " + key.locationId());
+        }
+        return new Block(last - blockSize + 1, last);
+    }
+
+    // Issued number
+    public record QueueNumber(Long locationId, LocalDate queueDate, int number) {
+    }
+
+    private record BlockKey(Long locationId, LocalDate queueDate) {
+    }
+
+    // Numbers next..last are still free; guarded by the owning stripe
+    private static final class Block {
+        private int next;
+        private final int last;
+
+        private Block(int next, int last) {
+            this.next = next;
+            this.last = last;
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<BlockKey, Block> blocks = new HashMap<>();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Role;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+// Second-level cache for the Role and Location reference data: explicit eviction after committed
+// changes (covers native and bulk statements Hibernate cannot track), and hit/miss/put counters per region
+@Component
+public class ReferenceDataCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private static final List<String> REGIONS = List.of(
+            Role.CACHE_REGION, Role.QUERY_CACHE_REGION, Location.CACHE_REGION, Location.QUERY_CACHE_REGION);
+
+    private final SessionFactory sessionFactory;
+
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    // Eviction - applied once the surrounding transaction commits
+    public void evictRolesAfterCommit() {
+        TransactionCallbacks.afterCommit(() -> evict(Role.class, Role.QUERY_CACHE_REGION));
+    }
+
+    public void evictLocationsAfterCommit() {
+        TransactionCallbacks.afterCommit(() -> evict(Location.class, Location.QUERY_CACHE_REGION));
+    }
+
+    private void evict(Class<?> entityClass, String queryRegion) {
+        sessionFactory.getCache().evictEntityData(entityClass);
+        sessionFactory.getCache().evictQueryRegion(queryRegion);
+        log.debug("Evicted {} from the second-level and query caches", entityClass.getSimpleName());
+    }
+
+    // Metrics: helpdesk.cache.requests{region, result=hit|miss} and helpdesk.cache.puts{region}.
+    // Query regions are created on first use, so statistics are looked up on every read.
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = sessionFactory.getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            log.warn("Hibernate statistics are disabled; second-level cache metrics will stay at zero");
+        }
+        for (String region : REGIONS) {
+            counter(registry, "helpdesk.cache.requests", region, "hit", statistics, CacheRegionStatistics::getHitCount);
+            counter(registry, "helpdesk.cache.requests", region, "miss", statistics, CacheRegionStatistics::getMissCount);
+            counter(registry, "helpdesk.cache.puts", region, null, statistics, CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    private static void counter(MeterRegistry registry, String name, String region, String result,
+                                Statistics statistics, ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter.builder(name, statistics, s -> {
+            CacheRegionStatistics regionStatistics = s.getCacheRegionStatistics(region);
+            return regionStatistics != null ? count.applyAsLong(regionStatistics) : 0;
+        }).tag("region", region).description("Second-level cache activity per region");
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        builder.register(registry);
+    }
+}
@@ -5,7 +5,10 @@ import com.example.helpdeskticket.repository.RoleRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -13,9 +16,11 @@ import java.util.Optional;
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final ReferenceDataCache referenceDataCache;
 
-    public RoleService(RoleRepository roleRepository) {
+    public RoleService(RoleRepository roleRepository, ReferenceDataCache referenceDataCache) {
         this.roleRepository = roleRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
     // Basic CRUD operations
@@ -48,7 +53,9 @@ public class RoleService {
         // Ensure name is in uppercase for consistency
         role.setName(role.getName().toUpperCase());
 
-        return roleRepository.save(role);
+        Role savedRole = roleRepository.save(role);
+        referenceDataCache.evictRolesAfterCommit();
+        return savedRole;
     }
 
     public Role updateRole(Long id, Role roleDetails) {
@@ -69,7 +76,9 @@ public class RoleService {
         // Update fields
         existingRole.setName(roleDetails.getName().toUpperCase());
 
-        return roleRepository.save(existingRole);
+        Role savedRole = roleRepository.save(existingRole);
+        referenceDataCache.evictRolesAfterCommit();
+        return savedRole;
     }
 
     public void deleteRole(Long id) {
@@ -82,6 +91,7 @@ public class RoleService {
         }
         
         roleRepository.deleteById(id);
+        referenceDataCache.evictRolesAfterCommit();
     }
 
     // Role-specific operations
@@ -121,20 +131,28 @@ public class RoleService {
             role.setName(role.getName().toUpperCase());
         }
         
-        return roleRepository.saveAll(roles);
+        List<Role> savedRoles = roleRepository.saveAll(roles);
+        referenceDataCache.evictRolesAfterCommit();
+        return savedRoles;
     }
 
     // Default roles initialization
     public void initializeDefaultRoles() {
         List<String> defaultRoleNames = List.of("CUSTOMER", "AGENT", "ADMIN", "SUPERVISOR");
         
+        boolean created = false;
         for (String roleName : defaultRoleNames) {
             if (!roleRepository.existsByName(roleName)) {
                 Role role = new Role();
                 role.setName(roleName);
                 roleRepository.save(role);
+                created = true;
             }
         }
+        // One eviction for the whole run
+        if (created) {
+            referenceDataCache.evictRolesAfterCommit();
+        }
     }
 
     // Search and validation
@@ -150,10 +168,18 @@ public class RoleService {
 
     @Transactional(readOnly = true)
     public List<Role> findRolesByNames(List<String> roleNames) {
-        return roleNames.stream()
-                .map(name -> roleRepository.findByName(name.toUpperCase()))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+        // One (cached) query for all names, returned in the order they were asked for
+        List<String> names = roleNames.stream().map(String::toUpperCase).distinct().toList();
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Role> byName = new HashMap<>();
+        for (Role role : roleRepository.findByNameIn(names)) {
+            byName.put(role.getName(), role);
+        }
+        return names.stream()
+                .map(byName::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
@@ -188,6 +214,7 @@ public class RoleService {
         }
         
         roleRepository.deleteById(id);
+        referenceDataCache.evictRolesAfterCommit();
     }
 
     // Role validation for user assignment
@@ -0,0 +1,77 @@
+package com.example.helpdeskticket.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "helpdesk.tickets.archive.enabled", havingValue = "true")
+public class TicketArchiveScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketArchiveScheduler.class);
+
+    private final TicketArchiveService ticketArchiveService;
+    private final int deletedDaysOld;
+    private final int closedDaysOld;
+
+    private final Timer runTimer;
+    private final Counter deletedCounter;
+    private final Counter closedCounter;
+    private final Counter skippedCounter;
+
+    public TicketArchiveScheduler(TicketArchiveService ticketArchiveService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${helpdesk.tickets.archive.deleted-days-old:30}") int deletedDaysOld,
+                                  @Value("${helpdesk.tickets.archive.closed-days-old:180}") int closedDaysOld) {
+        this.ticketArchiveService = ticketArchiveService;
+        this.deletedDaysOld = deletedDaysOld;
+        this.closedDaysOld = closedDaysOld;
+
+        this.runTimer = Timer.builder("helpdesk.tickets.archive.run")
+                .description("Latency of archive runs that acquired the lock")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("helpdesk.tickets.archive.archived")
+                .tag("reason", "deleted")
+                .description("Tickets moved to the archive")
+                .register(meterRegistry);
+        this.closedCounter = Counter.builder("helpdesk.tickets.archive.archived")
+                .tag("reason", "closed")
+                .description("Tickets moved to the archive")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("helpdesk.tickets.archive.skipped")
+                .description("Runs skipped because another instance held the lock")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${helpdesk.tickets.archive.interval-ms:3600000}",
+               initialDelayString = "${helpdesk.tickets.archive.interval-ms:3600000}")
+    public void archiveOldTickets() {
+        // The lock and time box live in TicketArchiveService so POST /archive runs under the same rules
+        LocalDateTime now = LocalDateTime.now();
+        Timer.Sample sample = Timer.start();
+        Optional<TicketArchiveService.ArchiveResult> run = ticketArchiveService.archiveExclusively(
+                now.minusDays(deletedDaysOld), now.minusDays(closedDaysOld));
+        if (run.isEmpty()) {
+            skippedCounter.increment();
+            log.debug("Archive skipped: another instance holds the lock");
+            return;
+        }
+        sample.stop(runTimer);
+
+        TicketArchiveService.ArchiveResult result = run.get();
+        deletedCounter.increment(result.getDeletedTicketsArchived());
+        closedCounter.increment(result.getClosedTicketsArchived());
+        log.debug("Archive moved {} deleted and {} closed tickets in {} batches (complete: {})",
+                result.getDeletedTicketsArchived(), result.getClosedTicketsArchived(), result.getBatches(),
+                result.isComplete());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.repository.TicketArchiveRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Moves soft-deleted and long-CLOSED tickets from the hot tickets table into the partitioned tickets_archive
+@Service
+public class TicketArchiveService {
+
+    // Advisory lock key shared by every app instance (arbitrary, but must stay stable)
+    static final long ARCHIVE_LOCK_KEY = 0x4844_5443_4C53_0002L;
+
+    private final TicketArchiveRepository ticketArchiveRepository;
+    private final TicketStatusCounters ticketStatusCounters;
+    private final AdvisoryLock advisoryLock;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration timeBox;
+
+    public TicketArchiveService(TicketArchiveRepository ticketArchiveRepository,
+                                TicketStatusCounters ticketStatusCounters,
+                                AdvisoryLock advisoryLock,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${helpdesk.tickets.archive.batch-size:500}") int batchSize,
+                                @Value("${helpdesk.tickets.archive.time-box-ms:60000}") long timeBoxMs) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Archive batch size must be positive");
+        }
+        this.ticketArchiveRepository = ticketArchiveRepository;
+        this.ticketStatusCounters = ticketStatusCounters;
+        this.advisoryLock = advisoryLock;
+        // Each chunk runs (and commits) in its own transaction so row locks are short-lived
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.timeBox = Duration.ofMillis(timeBoxMs);
+    }
+
+    // One time-boxed run under the cluster-wide archive lock, shared by the scheduler and POST /archive.
+    // Empty when another run (on any instance) holds the lock.
+    public Optional<ArchiveResult> archiveExclusively(LocalDateTime deletedBefore, LocalDateTime closedBefore) {
+        return advisoryLock.runExclusively(ARCHIVE_LOCK_KEY, () -> archive(deletedBefore, closedBefore, timeBox));
+    }
+
+    // Archives tickets soft-deleted before deletedBefore and tickets CLOSED before closedBefore
+    public ArchiveResult archive(LocalDateTime deletedBefore, LocalDateTime closedBefore) {
+        return archive(deletedBefore, closedBefore, null);
+    }
+
+    // Same as above, but stops starting new chunks once the time box has elapsed (null = no limit)
+    public ArchiveResult archive(LocalDateTime deletedBefore, LocalDateTime closedBefore, Duration timeBox) {
+        if (deletedBefore == null || closedBefore == null) {
+            throw new IllegalArgumentException("Both archive cutoffs are required");
+        }
+
+        long deadline = timeBox != null ? System.nanoTime() + timeBox.toNanos() : 0L;
+        long deletedArchived = 0;
+        long closedArchived = 0;
+        int batches = 0;
+        // A short chunk does not mean the end: SKIP LOCKED leaves out rows other transactions hold.
+        // Each phase stops once a chunk finds nothing left to lock.
+        int moved;
+
+        // Soft-deleted tickets first (no counters to adjust), then closed ones
+        do {
+            moved = runBatch(false, deletedBefore);
+            deletedArchived += moved;
+            batches++;
+        } while (moved > 0 && !expired(timeBox, deadline));
+        boolean deletedComplete = moved == 0;
+
+        boolean closedComplete = false;
+        if (deletedComplete && !expired(timeBox, deadline)) {
+            do {
+                moved = runBatch(true, closedBefore);
+                closedArchived += moved;
+                batches++;
+            } while (moved > 0 && !expired(timeBox, deadline));
+            closedComplete = moved == 0;
+        }
+
+        // Rows still locked elsewhere stay eligible; report them as not done (the next run retries)
+        boolean complete = deletedComplete && closedComplete
+                && !ticketArchiveRepository.existsDeletedBefore(deletedBefore)
+                && !ticketArchiveRepository.existsClosedBefore(closedBefore);
+
+        return new ArchiveResult(deletedArchived, closedArchived, batches, complete);
+    }
+
+    private int runBatch(boolean closed, LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = closed
+                    ? ticketArchiveRepository.lockClosedBatch(cutoff, batchSize)
+                    : ticketArchiveRepository.lockDeletedBatch(cutoff, batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            ticketArchiveRepository.ensurePartitions(ids);
+            int count = ticketArchiveRepository.moveToArchive(ids);
+            if (closed) {
+                ticketStatusCounters.bulkRemoved(TicketStatus.CLOSED, count);
+            }
+            return count;
+        });
+        return moved != null ? moved : 0;
+    }
+
+    private static boolean expired(Duration timeBox, long deadline) {
+        return timeBox != null && System.nanoTime() - deadline >= 0;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    // DTO for archive runs
+    public static class ArchiveResult {
+        private final long deletedTicketsArchived;
+        private final long closedTicketsArchived;
+        private final int batches;
+        private final boolean complete;
+
+        public ArchiveResult(long deletedTicketsArchived, long closedTicketsArchived, int batches, boolean complete) {
+            this.deletedTicketsArchived = deletedTicketsArchived;
+            this.closedTicketsArchived = closedTicketsArchived;
+            this.batches = batches;
+            this.complete = complete;
+        }
+
+        // Getters
+        public long getDeletedTicketsArchived() { return deletedTicketsArchived; }
+        public long getClosedTicketsArchived() { return closedTicketsArchived; }
+        public long getArchivedTickets() { return deletedTicketsArchived + closedTicketsArchived; }
+        public int getBatches() { return batches; }
+        public boolean isComplete() { return complete; }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.TicketStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "helpdesk.tickets.auto-close.enabled", havingValue = "true")
+public class TicketAutoCloseScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketAutoCloseScheduler.class);
+
+    private final TicketBulkTransitionService ticketBulkTransitionService;
+    private final int daysOld;
+
+    private final Timer runTimer;
+    private final Counter closedCounter;
+    private final Counter skippedCounter;
+    private final DistributionSummary closedPerRun;
+
+    public TicketAutoCloseScheduler(TicketBulkTransitionService ticketBulkTransitionService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${helpdesk.tickets.auto-close.days-old:30}") int daysOld) {
+        this.ticketBulkTransitionService = ticketBulkTransitionService;
+        this.daysOld = daysOld;
+
+        this.runTimer = Timer.builder("helpdesk.tickets.auto_close.run")
+                .description("Latency of auto-close runs that acquired the lock")
+                .register(meterRegistry);
+        this.closedCounter = Counter.builder("helpdesk.tickets.auto_close.closed")
+                .description("Tickets closed by the auto-close job")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("helpdesk.tickets.auto_close.skipped")
+                .description("Runs skipped because another instance held the lock")
+                .register(meterRegistry);
+        this.closedPerRun = DistributionSummary.builder("helpdesk.tickets.auto_close.closed_per_run")
+                .description("Tickets closed per auto-close run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${helpdesk.tickets.auto-close.interval-ms:3600000}",
+               initialDelayString = "${helpdesk.tickets.auto-close.interval-ms:3600000}")
+    public void autoCloseOldResolvedTickets() {
+        // The lock and time box live in TicketBulkTransitionService so POST /auto-close-old runs under the same rules
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
+        Timer.Sample sample = Timer.start();
+        Optional<TicketBulkTransitionService.BulkTransitionResult> run =
+                ticketBulkTransitionService.autoCloseExclusively(cutoffDate);
+        if (run.isEmpty()) {
+            skippedCounter.increment();
+            log.debug("Auto-close skipped: another instance holds the lock");
+            return;
+        }
+        sample.stop(runTimer);
+
+        TicketBulkTransitionService.BulkTransitionResult result = run.get();
+        closedCounter.increment(result.getAffectedTickets());
+        closedPerRun.record(result.getAffectedTickets());
+        log.debug("Auto-close closed {} tickets in {} batches (complete: {})",
+                result.getAffectedTickets(), result.getBatches(), result.isComplete());
+    }
+}
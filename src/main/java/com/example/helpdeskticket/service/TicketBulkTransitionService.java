@@ -0,0 +1,142 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+public class TicketBulkTransitionService {
+
+    // Advisory lock key shared by every app instance (arbitrary, but must stay stable)
+    static final long AUTO_CLOSE_LOCK_KEY = 0x4844_5443_4C53_0001L;
+
+    private final TicketRepository ticketRepository;
+    private final TicketStatusCounters ticketStatusCounters;
+    private final AgentWorkloadIndex agentWorkloadIndex;
+    private final AdvisoryLock advisoryLock;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration autoCloseTimeBox;
+
+    public TicketBulkTransitionService(TicketRepository ticketRepository,
+                                       TicketStatusCounters ticketStatusCounters,
+                                       AgentWorkloadIndex agentWorkloadIndex,
+                                       AdvisoryLock advisoryLock,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${helpdesk.tickets.bulk.batch-size:500}") int batchSize,
+                                       @Value("${helpdesk.tickets.auto-close.time-box-ms:60000}") long autoCloseTimeBoxMs) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Bulk batch size must be positive");
+        }
+        this.ticketRepository = ticketRepository;
+        this.ticketStatusCounters = ticketStatusCounters;
+        this.agentWorkloadIndex = agentWorkloadIndex;
+        this.advisoryLock = advisoryLock;
+        // Each chunk runs (and commits) in its own transaction so row locks are short-lived
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.autoCloseTimeBox = Duration.ofMillis(autoCloseTimeBoxMs);
+    }
+
+    // One time-boxed RESOLVED -> CLOSED run under the cluster-wide auto-close lock, shared by the scheduler
+    // and POST /auto-close-old. Empty when another run (on any instance) holds the lock.
+    public Optional<BulkTransitionResult> autoCloseExclusively(LocalDateTime resolvedBefore) {
+        return advisoryLock.runExclusively(AUTO_CLOSE_LOCK_KEY,
+                () -> transition(TicketStatus.RESOLVED, TicketStatus.CLOSED, resolvedBefore, autoCloseTimeBox));
+    }
+
+    // Moves every ticket in fromStatus (optionally resolved before the cutoff) to toStatus, chunk by chunk
+    public BulkTransitionResult transition(TicketStatus fromStatus, TicketStatus toStatus, LocalDateTime resolvedBefore) {
+        return transition(fromStatus, toStatus, resolvedBefore, null);
+    }
+
+    // Same as above, but stops starting new chunks once the time box has elapsed (null = no limit)
+    public BulkTransitionResult transition(TicketStatus fromStatus, TicketStatus toStatus, LocalDateTime resolvedBefore,
+                                           Duration timeBox) {
+        if (fromStatus == null || toStatus == null) {
+            throw new IllegalArgumentException("Both source and target status are required");
+        }
+        if (!TicketService.isValidStatusTransition(fromStatus, toStatus)) {
+            throw new IllegalArgumentException("Invalid status transition from " + fromStatus + " to " + toStatus);
+        }
+
+        long deadline = timeBox != null ? System.nanoTime() + timeBox.toNanos() : 0L;
+        long affected = 0;
+        int batches = 0;
+        int updated;
+        // A short chunk does not mean the end: SKIP LOCKED leaves out rows other transactions hold.
+        // Stop once a chunk finds nothing left to lock.
+        do {
+            updated = runBatch(fromStatus, toStatus, resolvedBefore);
+            affected += updated;
+            // The final chunk that finds nothing left updates no rows and is not counted
+            if (updated > 0) {
+                batches++;
+            }
+        } while (updated > 0 && (timeBox == null || System.nanoTime() - deadline < 0));
+
+        // Rows still locked elsewhere stay eligible; report them as not done (the next run retries)
+        boolean complete = updated == 0 && !hasCandidates(fromStatus, resolvedBefore);
+
+        if (affected > 0 && (fromStatus == TicketStatus.IN_PROGRESS || toStatus == TicketStatus.IN_PROGRESS)) {
+            // Bulk updates do not report assignees; recount agent workloads
+            agentWorkloadIndex.rebuildAfterCommit();
+        }
+
+        return new BulkTransitionResult(fromStatus, toStatus, affected, batches, complete);
+    }
+
+    private int runBatch(TicketStatus fromStatus, TicketStatus toStatus, LocalDateTime resolvedBefore) {
+        Integer updated = transactionTemplate.execute(status -> {
+            int count = resolvedBefore == null
+                    ? ticketRepository.transitionStatusBatch(fromStatus.name(), toStatus.name(), batchSize)
+                    : ticketRepository.transitionStatusBatchResolvedBefore(fromStatus.name(), toStatus.name(), resolvedBefore, batchSize);
+            ticketStatusCounters.bulkStatusChanged(fromStatus, toStatus, count);
+            return count;
+        });
+        return updated != null ? updated : 0;
+    }
+
+    private boolean hasCandidates(TicketStatus fromStatus, LocalDateTime resolvedBefore) {
+        return resolvedBefore == null
+                ? ticketRepository.existsByStatus(fromStatus)
+                : ticketRepository.existsByStatusAndResolvedAtBefore(fromStatus, resolvedBefore);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    // DTO for bulk transition results
+    public static class BulkTransitionResult {
+        private final TicketStatus fromStatus;
+        private final TicketStatus toStatus;
+        private final long affectedTickets;
+        private final int batches;
+        private final boolean complete;
+
+        public BulkTransitionResult(TicketStatus fromStatus, TicketStatus toStatus, long affectedTickets, int batches,
+                                    boolean complete) {
+            this.fromStatus = fromStatus;
+            this.toStatus = toStatus;
+            this.affectedTickets = affectedTickets;
+            this.batches = batches;
+            this.complete = complete;
+        }
+
+        // Getters
+        public TicketStatus getFromStatus() { return fromStatus; }
+        public TicketStatus getToStatus() { return toStatus; }
+        public long getAffectedTickets() { return affectedTickets; }
+        public int getBatches() { return batches; }
+        public boolean isComplete() { return complete; }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.repository.projection.TicketSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset position on (createdAt, id) for cursor-based ticket listing
+public record TicketCursor(LocalDateTime createdAt, Long id) {
+
+    public static TicketCursor of(TicketSummary summary) {
+        return new TicketCursor(summary.createdAt(), summary.id());
+    }
+
+    // A position without a creation time could not be decoded again, so the next page would fail instead
+    public String encode() {
+        if (createdAt == null || id == null) {
+            throw new IllegalStateException("Ticket " + id + " has no creation time and cannot be a cursor position");
+        }
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TicketCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new TicketCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
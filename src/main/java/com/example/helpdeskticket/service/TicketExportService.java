@@ -0,0 +1,158 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Ticket;
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class TicketExportService {
+
+    private static final String CSV_HEADER = "id,title,description,status,userId,createdAt,resolvedAt";
+
+    private final TicketRepository ticketRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter rowWriter;
+    private final int clearInterval;
+
+    public TicketExportService(TicketRepository ticketRepository,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               @Value("${helpdesk.tickets.export.clear-interval:500}") int clearInterval) {
+        this.ticketRepository = ticketRepository;
+        this.entityManager = entityManager;
+        this.rowWriter = objectMapper.writerFor(ExportRow.class);
+        this.clearInterval = Math.max(1, clearInterval);
+    }
+
+    // Streaming exports - rows are written as they are read, memory stays flat
+    public long exportAll(Sort sort, ExportFormat format, OutputStream out) {
+        try (Stream<Ticket> tickets = ticketRepository.streamAllBy(sort)) {
+            return write(tickets, format, out);
+        }
+    }
+
+    public long exportByUserId(Long userId, ExportFormat format, OutputStream out) {
+        try (Stream<Ticket> tickets = ticketRepository.streamByUserIdOrderByCreatedAtDesc(userId)) {
+            return write(tickets, format, out);
+        }
+    }
+
+    public long exportByStatus(TicketStatus status, ExportFormat format, OutputStream out) {
+        try (Stream<Ticket> tickets = ticketRepository.streamByStatusOrderByCreatedAtAsc(status)) {
+            return write(tickets, format, out);
+        }
+    }
+
+    private long write(Stream<Ticket> tickets, ExportFormat format, OutputStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long written = 0;
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+
+            Iterator<Ticket> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                ExportRow row = ExportRow.of(iterator.next());
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(rowWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+
+                // Detach already written tickets so the persistence context does not grow with the result
+                if (++written % clearInterval == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write ticket export", e);
+        }
+        return written;
+    }
+
+    private static void writeCsv(Writer writer, ExportRow row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writer.write(csv(row.title()));
+        writer.write(',');
+        writer.write(csv(row.description()));
+        writer.write(',');
+        writer.write(row.status() != null ? row.status().name() : "");
+        writer.write(',');
+        writer.write(row.userId() != null ? row.userId().toString() : "");
+        writer.write(',');
+        writer.write(row.createdAt() != null ? row.createdAt().toString() : "");
+        writer.write(',');
+        writer.write(row.resolvedAt() != null ? row.resolvedAt().toString() : "");
+        writer.write('\n');
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Flat export row; only the user id is read, so the lazy user is never initialized
+    public record ExportRow(Long id, String title, String description, TicketStatus status, Long userId,
+                            LocalDateTime createdAt, LocalDateTime resolvedAt) {
+
+        static ExportRow of(Ticket ticket) {
+            return new ExportRow(ticket.getId(), ticket.getTitle(), ticket.getDescription(), ticket.getStatus(),
+                    ticket.getUser() != null ? ticket.getUser().getId() : null,
+                    ticket.getCreatedAt(), ticket.getResolvedAt());
+        }
+    }
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        ExportFormat(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static ExportFormat from(String value) {
+            try {
+                return ExportFormat.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.repository.projection.TicketSearchHit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset position on (rank, id) for paging through full-text search results
+public record TicketSearchCursor(float rank, Long id) {
+
+    public static TicketSearchCursor of(TicketSearchHit hit) {
+        return new TicketSearchCursor(hit.getRank(), hit.getId());
+    }
+
+    public String encode() {
+        // Raw float bits so the rank compares exactly equal when the query is run again
+        String raw = Integer.toHexString(Float.floatToIntBits(rank)) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TicketSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new TicketSearchCursor(Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, separator), 16)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -3,25 +3,79 @@ package com.example.helpdeskticket.service;
 import com.example.helpdeskticket.model.Ticket;
 import com.example.helpdeskticket.model.TicketStatus;
 import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.TicketArchiveRepository;
 import com.example.helpdeskticket.repository.TicketRepository;
+import com.example.helpdeskticket.repository.UserRepository;
+import com.example.helpdeskticket.repository.projection.ResolutionTimeSummary;
+import com.example.helpdeskticket.repository.projection.TicketDetail;
+import com.example.helpdeskticket.repository.projection.TicketHistoryEntry;
+import com.example.helpdeskticket.repository.projection.TicketSearchHit;
+import com.example.helpdeskticket.repository.projection.TicketSummary;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class TicketService {
 
-    private final TicketRepository ticketRepository;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_CREATE_SIZE = 500;
+    private static final int MAX_CLAIM_SIZE = 50;
+    // User ids per set-based soft delete statement (bounds the IN list)
+    static final int SOFT_DELETE_CHUNK_SIZE = 1000;
 
-    public TicketService(TicketRepository ticketRepository) {
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final TicketStatusCounters ticketStatusCounters;
+    private final TicketBulkTransitionService ticketBulkTransitionService;
+    private final TicketTitleFilter ticketTitleFilter;
+    private final TicketArchiveRepository ticketArchiveRepository;
+    private final TicketArchiveService ticketArchiveService;
+    private final EntityDetacher entityDetacher;
+    private final AgentWorkloadIndex agentWorkloadIndex;
+    private final QueueNumberService queueNumberService;
+    private final TransactionTemplate transactionTemplate;
+
+    public TicketService(TicketRepository ticketRepository, UserRepository userRepository,
+                         TicketStatusCounters ticketStatusCounters,
+                         TicketBulkTransitionService ticketBulkTransitionService, TicketTitleFilter ticketTitleFilter,
+                         TicketArchiveRepository ticketArchiveRepository, TicketArchiveService ticketArchiveService,
+                         EntityDetacher entityDetacher, AgentWorkloadIndex agentWorkloadIndex,
+                         QueueNumberService queueNumberService, PlatformTransactionManager transactionManager) {
         this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.ticketStatusCounters = ticketStatusCounters;
+        this.ticketBulkTransitionService = ticketBulkTransitionService;
+        this.ticketTitleFilter = ticketTitleFilter;
+        this.ticketArchiveRepository = ticketArchiveRepository;
+        this.ticketArchiveService = ticketArchiveService;
+        this.entityDetacher = entityDetacher;
+        this.agentWorkloadIndex = agentWorkloadIndex;
+        this.queueNumberService = queueNumberService;
+        // Creates open their transaction only once queue numbers are issued (see assignQueueNumber)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // Basic CRUD operations
@@ -45,13 +99,165 @@ public class TicketService {
         return ticketRepository.findById(id);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Ticket createTicket(Ticket ticket) {
+        validateNewTicket(ticket);
+
+        // Check for duplicate tickets (same normalized title for same user); the Bloom filter
+        // answers most creates without a query, the unique index catches concurrent duplicates
+        // and those created on other instances
+        Long userId = ticket.getUser().getId();
+        String titleHash = Ticket.normalizedTitleHash(ticket.getTitle());
+        if (ticketTitleFilter.mightContain(userId, titleHash)
+                && ticketRepository.existsByUserIdAndTitleHash(userId, titleHash)) {
+            throw duplicateTitle(ticket.getTitle());
+        }
+
+        // Set default status if not provided
+        if (ticket.getStatus() == null) {
+            ticket.setStatus(TicketStatus.OPEN);
+        }
+        clearAssignee(ticket);
+        assignQueueNumber(ticket);
+
+        return transactionTemplate.execute(status -> {
+            Ticket savedTicket = saveUniqueTitle(ticket);
+            ticketStatusCounters.ticketCreated(userId, savedTicket.getStatus());
+            ticketTitleFilter.addAfterCommit(userId, titleHash);
+            return savedTicket;
+        });
+    }
+
+    // Batch creation: one validation pass, one user lookup, one duplicate query and JDBC-batched inserts.
+    // Invalid items are reported by index and do not stop the rest of the batch. Only the inserts run in
+    // the transaction; the lookups before them are plain reads.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchCreateResult createTickets(List<Ticket> tickets) {
+        if (tickets == null || tickets.isEmpty() || tickets.size() > MAX_BATCH_CREATE_SIZE) {
+            throw new IllegalArgumentException("A batch must contain between 1 and " + MAX_BATCH_CREATE_SIZE + " tickets");
+        }
+
+        int size = tickets.size();
+        String[] errors = new String[size];
+        String[] titleHashes = new String[size];
+        Set<Long> userIds = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            Ticket ticket = tickets.get(i);
+            try {
+                validateNewTicket(ticket);
+                titleHashes[i] = Ticket.normalizedTitleHash(ticket.getTitle());
+                userIds.add(ticket.getUser().getId());
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+
+        Set<Long> existingUsers = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+        Set<String> takenTitles = new HashSet<>();
+        if (!existingUsers.isEmpty()) {
+            List<String> hashes = Arrays.stream(titleHashes).filter(Objects::nonNull).distinct().toList();
+            for (Object[] row : ticketRepository.findUserTitleHashes(existingUsers, hashes)) {
+                takenTitles.add(row[0] + ":" + row[1]);
+            }
+        }
+
+        // Existing titles and repeats within the batch are both duplicates
+        List<Integer> accepted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            Ticket ticket = tickets.get(i);
+            Long userId = ticket.getUser().getId();
+            if (!existingUsers.contains(userId)) {
+                errors[i] = "User not found with id: " + userId;
+            } else if (!takenTitles.add(userId + ":" + titleHashes[i])) {
+                errors[i] = duplicateTitle(ticket.getTitle()).getMessage();
+            } else {
+                if (ticket.getStatus() == null) {
+                    ticket.setStatus(TicketStatus.OPEN);
+                }
+                clearAssignee(ticket);
+                try {
+                    assignQueueNumber(ticket);
+                    accepted.add(i);
+                } catch (IllegalArgumentException e) {
+                    errors[i] = e.getMessage();
+                }
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ticketRepository.saveAll(accepted.stream().map(tickets::get).toList());
+                ticketRepository.flush();
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (!isTitleCollision(e)) {
+                throw e;
+            }
+            // A concurrent create took one of the titles: insert one at a time, so only the colliding
+            // items fail and the others keep their queue numbers
+            for (int i : accepted) {
+                Ticket ticket = tickets.get(i);
+                // Ids from the rolled-back batch were never inserted
+                ticket.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> ticketRepository.saveAndFlush(ticket));
+                } catch (DataIntegrityViolationException itemError) {
+                    if (!isTitleCollision(itemError)) {
+                        throw itemError;
+                    }
+                    errors[i] = duplicateTitle(ticket.getTitle()).getMessage();
+                }
+            }
+        }
+
+        int created = 0;
+        List<BatchItemResult> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Ticket ticket = tickets.get(i);
+            if (errors[i] == null) {
+                ticketStatusCounters.ticketCreated(ticket.getUser().getId(), ticket.getStatus());
+                ticketTitleFilter.addAfterCommit(ticket.getUser().getId(), titleHashes[i]);
+                created++;
+            }
+            items.add(new BatchItemResult(i, errors[i] == null ? ticket.getId() : null, errors[i]));
+        }
+        return new BatchCreateResult(created, size - created, items);
+    }
+
+    // Assignees are set only by assignTicket and claimNextTickets, which keep the agent workload index
+    // in step; one sent with a new ticket is dropped
+    private static void clearAssignee(Ticket ticket) {
+        ticket.setAssignee(null);
+    }
+
+    // Tickets issued at a branch get the next number of the branch's daily queue; numbers are never client-set.
+    // Called before the insert transaction starts: a block refill takes a pool connection of its own, and
+    // must not wait for one while this request already holds another.
+    private void assignQueueNumber(Ticket ticket) {
+        if (ticket.getBranch() == null) {
+            ticket.setQueueDate(null);
+            ticket.setQueueNumber(null);
+            return;
+        }
+        QueueNumberService.QueueNumber queueNumber = queueNumberService.issue(ticket.getBranch().getId());
+        ticket.setQueueDate(queueNumber.queueDate());
+        ticket.setQueueNumber(queueNumber.number());
+    }
+
+    private static void validateNewTicket(Ticket ticket) {
+        if (ticket == null) {
+            throw new IllegalArgumentException("Ticket cannot be null");
+        }
+
         // Validate required fields
         if (ticket.getTitle() == null || ticket.getTitle().trim().isEmpty()) {
             throw new IllegalArgumentException("Ticket title cannot be null or empty");
         }
         
-        if (ticket.getUser() == null) {
+        if (ticket.getUser() == null || ticket.getUser().getId() == null) {
             throw new IllegalArgumentException("Ticket must be associated with a user");
         }
 
@@ -64,18 +270,6 @@ public class TicketService {
         if (ticket.getDescription() != null && ticket.getDescription().length() > 5000) {
             throw new IllegalArgumentException("Ticket description cannot exceed 5000 characters");
         }
-
-        // Check for duplicate tickets (same title for same user)
-        if (ticketRepository.existsByTitleAndUser(ticket.getTitle(), ticket.getUser())) {
-            throw new IllegalArgumentException("Ticket with title '" + ticket.getTitle() + "' already exists for this user");
-        }
-
-        // Set default status if not provided
-        if (ticket.getStatus() == null) {
-            ticket.setStatus(TicketStatus.OPEN);
-        }
-
-        return ticketRepository.save(ticket);
     }
 
     public Ticket updateTicket(Long id, Ticket ticketDetails) {
@@ -90,7 +284,13 @@ public class TicketService {
             if (ticketDetails.getTitle().length() > 1000) {
                 throw new IllegalArgumentException("Ticket title cannot exceed 1000 characters");
             }
+            String titleHash = Ticket.normalizedTitleHash(ticketDetails.getTitle());
+            Long userId = existingTicket.getUser().getId();
+            if (ticketRepository.existsByUserIdAndTitleHashAndIdNot(userId, titleHash, id)) {
+                throw duplicateTitle(ticketDetails.getTitle());
+            }
             existingTicket.setTitle(ticketDetails.getTitle());
+            ticketTitleFilter.addAfterCommit(userId, titleHash);
         }
 
         // Validate description
@@ -106,7 +306,28 @@ public class TicketService {
             updateTicketStatus(existingTicket, ticketDetails.getStatus());
         }
 
-        return ticketRepository.save(existingTicket);
+        return saveUniqueTitle(existingTicket);
+    }
+
+    // Save, turning a violation of the per-user title index (a concurrent duplicate) into the usual error
+    private Ticket saveUniqueTitle(Ticket ticket) {
+        try {
+            return ticketRepository.saveAndFlush(ticket);
+        } catch (DataIntegrityViolationException e) {
+            if (isTitleCollision(e)) {
+                throw duplicateTitle(ticket.getTitle());
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isTitleCollision(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(TicketRepository.TITLE_HASH_UNIQUE_INDEX);
+    }
+
+    private static IllegalArgumentException duplicateTitle(String title) {
+        return new IllegalArgumentException("Ticket with title '" + title + "' already exists for this user");
     }
 
     public void deleteTicket(Long id) {
@@ -114,6 +335,8 @@ public class TicketService {
                 .orElseThrow(() -> new IllegalArgumentException("Ticket not found with id: " + id));
         
         ticketRepository.deleteById(id);
+        ticketStatusCounters.ticketDeleted(ticket.getUser().getId(), ticket.getStatus());
+        agentWorkloadIndex.statusChanged(assigneeIdOf(ticket), ticket.getStatus(), null);
     }
 
     // Status management
@@ -126,6 +349,14 @@ public class TicketService {
 
     private Ticket updateTicketStatus(Ticket ticket, TicketStatus newStatus) {
         TicketStatus oldStatus = ticket.getStatus();
+        Ticket savedTicket = applyStatus(ticket, newStatus);
+        agentWorkloadIndex.statusChanged(assigneeIdOf(ticket), oldStatus, newStatus);
+        return savedTicket;
+    }
+
+    // Status change without the agent workload update (callers account for the assignee themselves)
+    private Ticket applyStatus(Ticket ticket, TicketStatus newStatus) {
+        TicketStatus oldStatus = ticket.getStatus();
         
         // Validate status transition
         if (!isValidStatusTransition(oldStatus, newStatus)) {
@@ -145,10 +376,132 @@ public class TicketService {
         }
 
         ticket.setStatus(newStatus);
-        return ticketRepository.save(ticket);
+        Ticket savedTicket = ticketRepository.save(ticket);
+        ticketStatusCounters.statusChanged(ticket.getUser().getId(), oldStatus, newStatus);
+        return savedTicket;
+    }
+
+    // Work queue: claims up to count of the oldest OPEN tickets and moves them to IN_PROGRESS in this
+    // transaction. Tickets locked by a concurrent claim are skipped, so each ticket goes to one claimer.
+    public List<Ticket> claimNextTickets(int count) {
+        return claimNextTickets(count, null);
+    }
+
+    // Same, with the claiming agent (a user with the AGENT role) recorded as assignee; null = unassigned
+    public List<Ticket> claimNextTickets(int count, Long agentId) {
+        if (agentId != null) {
+            requireAgent(agentId);
+        }
+        if (count < 1 || count > MAX_CLAIM_SIZE) {
+            throw new IllegalArgumentException("Claim count must be between 1 and " + MAX_CLAIM_SIZE);
+        }
+        List<Long> ids = ticketRepository.lockOldestByStatus(TicketStatus.OPEN.name(), count);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Ticket> byId = new HashMap<>();
+        for (Ticket ticket : ticketRepository.findAllById(ids)) {
+            byId.put(ticket.getId(), ticket);
+        }
+        List<Ticket> claimed = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Ticket ticket = byId.get(id);
+            if (ticket != null) {
+                claimed.add(agentId != null
+                        ? assign(ticket, agentId, false)
+                        : updateTicketStatus(ticket, TicketStatus.IN_PROGRESS));
+            }
+        }
+        return claimed;
+    }
+
+    // Claim returning summaries: the claimed entities hold uninitialized user and assignee proxies
+    public List<TicketSummary> claimNextTicketSummaries(int count, Long agentId) {
+        return summariesOf(claimNextTickets(count, agentId));
     }
 
-    private boolean isValidStatusTransition(TicketStatus from, TicketStatus to) {
+    // Assignment: the least-loaded AGENT from the in-memory workload heap (O(log n), no query);
+    // the ticket moves to IN_PROGRESS
+    public Ticket assignTicket(Long ticketId) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new IllegalArgumentException("Ticket not found with id: " + ticketId));
+        requireAssignable(ticket);
+
+        Long agentId = agentWorkloadIndex.reserveLeastLoaded();
+        if (agentId == null) {
+            throw new IllegalStateException("No agents available for assignment");
+        }
+        return assign(ticket, agentId, true);
+    }
+
+    // Manual assignment (or reassignment) to a specific agent
+    public Ticket assignTicket(Long ticketId, Long agentId) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new IllegalArgumentException("Ticket not found with id: " + ticketId));
+        requireAgent(agentId);
+        if (agentId.equals(assigneeIdOf(ticket)) && ticket.getStatus() == TicketStatus.IN_PROGRESS) {
+            return ticket;
+        }
+        requireAssignable(ticket);
+        return assign(ticket, agentId, false);
+    }
+
+    // Assignment returning a summary: the saved entity's assignee is an uninitialized reference.
+    // A null agent id assigns to the least-loaded agent.
+    public TicketSummary assignTicketSummary(Long ticketId, Long agentId) {
+        Ticket ticket = agentId != null ? assignTicket(ticketId, agentId) : assignTicket(ticketId);
+        return summariesOf(List.of(ticket)).get(0);
+    }
+
+    private Ticket assign(Ticket ticket, Long agentId, boolean reserved) {
+        TicketStatus oldStatus = ticket.getStatus();
+        Long previousAgentId = assigneeIdOf(ticket);
+        if (oldStatus == TicketStatus.IN_PROGRESS) {
+            agentWorkloadIndex.loadChanged(previousAgentId, -1);
+        }
+        // A reserved agent has already been counted by the workload index
+        if (!reserved) {
+            agentWorkloadIndex.loadChanged(agentId, 1);
+        }
+        ticket.setAssignee(userRepository.getReferenceById(agentId));
+        return oldStatus == TicketStatus.IN_PROGRESS
+                ? ticketRepository.save(ticket)
+                : applyStatus(ticket, TicketStatus.IN_PROGRESS);
+    }
+
+    // One query for all tickets (flushing their changes first), in the order given
+    private List<TicketSummary> summariesOf(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TicketSummary> byId = new HashMap<>();
+        for (TicketSummary summary : ticketRepository.findSummariesByIdIn(tickets.stream().map(Ticket::getId).toList())) {
+            byId.put(summary.id(), summary);
+        }
+        return tickets.stream().map(ticket -> byId.get(ticket.getId())).toList();
+    }
+
+    private static void requireAssignable(Ticket ticket) {
+        if (ticket.getStatus() != TicketStatus.IN_PROGRESS
+                && !isValidStatusTransition(ticket.getStatus(), TicketStatus.IN_PROGRESS)) {
+            throw new IllegalArgumentException("Ticket in status " + ticket.getStatus() + " cannot be assigned");
+        }
+    }
+
+    private void requireAgent(Long agentId) {
+        if (agentId == null || !userRepository.existsByIdAndRolesName(agentId, AgentWorkloadIndex.AGENT_ROLE)) {
+            throw new IllegalArgumentException("User " + agentId + " is not an agent");
+        }
+        // Agents granted the role since the last index rebuild are counted from now on
+        agentWorkloadIndex.registerAgent(agentId);
+    }
+
+    private static Long assigneeIdOf(Ticket ticket) {
+        return ticket.getAssignee() != null ? ticket.getAssignee().getId() : null;
+    }
+
+    static boolean isValidStatusTransition(TicketStatus from, TicketStatus to) {
         // Define valid status transitions
         return switch (from) {
             case OPEN -> to == TicketStatus.IN_PROGRESS || to == TicketStatus.RESOLVED || to == TicketStatus.CLOSED;
@@ -198,6 +551,141 @@ public class TicketService {
         return ticketRepository.findByStatusOrderByCreatedAtAsc(TicketStatus.OPEN);
     }
 
+    // Read models (DTO projections - one statement per page, user summary included)
+    @Transactional(readOnly = true)
+    public Slice<TicketSummary> findAllSummaries(Pageable pageable) {
+        return ticketRepository.findAllSummaries(checkPageSize(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<TicketSummary> findSummariesByUserId(Long userId, Pageable pageable) {
+        return ticketRepository.findSummariesByUserId(userId, checkPageSize(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<TicketSummary> findSummariesByStatus(TicketStatus status, Pageable pageable) {
+        return ticketRepository.findSummariesByStatus(status, checkPageSize(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<TicketSummary> findUnresolvedSummaries(Pageable pageable) {
+        return ticketRepository.findSummariesByStatusNot(TicketStatus.CLOSED, checkPageSize(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TicketDetail> findDetailById(Long id) {
+        return ticketRepository.findDetailById(id);
+    }
+
+    // Archive-aware reads: the hot table first, then (optionally) the partitioned archive
+    @Transactional(readOnly = true)
+    public Optional<TicketDetail> findDetailById(Long id, boolean includeArchived) {
+        Optional<TicketDetail> detail = ticketRepository.findDetailById(id);
+        if (detail.isPresent() || !includeArchived) {
+            return detail;
+        }
+        return ticketArchiveRepository.findDetailById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TicketHistoryEntry> findHistoryByUserId(Long userId, boolean includeArchived, Pageable pageable) {
+        checkPageSize(pageable);
+        return includeArchived
+                ? ticketArchiveRepository.findHistoryByUserId(userId, pageable)
+                : ticketArchiveRepository.findLiveHistoryByUserId(userId, pageable);
+    }
+
+    // Keyset (cursor) pagination over the summary read model - no COUNT query, constant cost per slice
+    // regardless of depth
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSummary> findAllByCursor(String cursor, int size) {
+        Pageable pageable = cursorPageable(size);
+        if (cursor == null || cursor.isBlank()) {
+            return toCursorPage(ticketRepository.findAllSummaries(pageable));
+        }
+        TicketCursor position = TicketCursor.decode(cursor);
+        return toCursorPage(ticketRepository.findSummariesAfterCursor(position.createdAt(), position.id(), pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSummary> findByUserIdByCursor(Long userId, String cursor, int size) {
+        Pageable pageable = cursorPageable(size);
+        if (cursor == null || cursor.isBlank()) {
+            return toCursorPage(ticketRepository.findSummariesByUserId(userId, pageable));
+        }
+        TicketCursor position = TicketCursor.decode(cursor);
+        return toCursorPage(ticketRepository.findSummariesByUserIdAfterCursor(userId, position.createdAt(), position.id(),
+                pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSummary> findByStatusByCursor(TicketStatus status, String cursor, int size) {
+        Pageable pageable = cursorPageable(size);
+        if (cursor == null || cursor.isBlank()) {
+            return toCursorPage(ticketRepository.findSummariesByStatus(status, pageable));
+        }
+        TicketCursor position = TicketCursor.decode(cursor);
+        return toCursorPage(ticketRepository.findSummariesByStatusAfterCursor(status, position.createdAt(), position.id(),
+                pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSummary> findUnresolvedTicketsByCursor(String cursor, int size) {
+        Pageable pageable = cursorPageable(size);
+        if (cursor == null || cursor.isBlank()) {
+            return toCursorPage(ticketRepository.findSummariesByStatusNot(TicketStatus.CLOSED, pageable));
+        }
+        TicketCursor position = TicketCursor.decode(cursor);
+        return toCursorPage(ticketRepository.findSummariesByStatusNotAfterCursor(TicketStatus.CLOSED, position.createdAt(),
+                position.id(), pageable));
+    }
+
+    // Full-text search over title and description, ranked, with keyset continuation
+    @Transactional(readOnly = true)
+    public CursorPage<TicketSearchHit> searchTickets(String query, TicketStatus status, Long userId, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        checkCursorSize(size);
+        TicketSearchCursor position = cursor == null || cursor.isBlank() ? null : TicketSearchCursor.decode(cursor);
+
+        // One extra row tells whether another slice follows
+        List<TicketSearchHit> hits = ticketRepository.searchTickets(query.trim(),
+                status != null ? status.name() : null, userId,
+                position != null ? position.rank() : null, position != null ? position.id() : null,
+                size + 1);
+        boolean hasNext = hits.size() > size;
+        List<TicketSearchHit> content = hasNext ? hits.subList(0, size) : hits;
+        String nextCursor = hasNext ? TicketSearchCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
+
+    private static Pageable cursorPageable(int size) {
+        checkCursorSize(size);
+        return PageRequest.of(0, size);
+    }
+
+    private static void checkCursorSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static Pageable checkPageSize(Pageable pageable) {
+        if (pageable.isPaged() && pageable.getPageSize() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return pageable;
+    }
+
+    private static CursorPage<TicketSummary> toCursorPage(Slice<TicketSummary> slice) {
+        List<TicketSummary> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? TicketCursor.of(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(content, nextCursor, slice.hasNext());
+    }
+
     // Statistics and analytics
     @Transactional(readOnly = true)
     public Long countTicketsByUserIdAndStatus(Long userId, TicketStatus status) {
@@ -206,52 +694,54 @@ public class TicketService {
 
     @Transactional(readOnly = true)
     public TicketStatistics getUserTicketStatistics(Long userId) {
-        long openTickets = countTicketsByUserIdAndStatus(userId, TicketStatus.OPEN);
-        long inProgressTickets = countTicketsByUserIdAndStatus(userId, TicketStatus.IN_PROGRESS);
-        long resolvedTickets = countTicketsByUserIdAndStatus(userId, TicketStatus.RESOLVED);
-        long closedTickets = countTicketsByUserIdAndStatus(userId, TicketStatus.CLOSED);
-        long totalTickets = openTickets + inProgressTickets + resolvedTickets + closedTickets;
-
-        return new TicketStatistics(openTickets, inProgressTickets, resolvedTickets, closedTickets, totalTickets);
+        return ticketStatusCounters.getUserStatistics(userId);
     }
 
     @Transactional(readOnly = true)
     public TicketStatistics getOverallTicketStatistics() {
-        List<Ticket> allTickets = ticketRepository.findAll();
-        
-        long openTickets = allTickets.stream().filter(t -> t.getStatus() == TicketStatus.OPEN).count();
-        long inProgressTickets = allTickets.stream().filter(t -> t.getStatus() == TicketStatus.IN_PROGRESS).count();
-        long resolvedTickets = allTickets.stream().filter(t -> t.getStatus() == TicketStatus.RESOLVED).count();
-        long closedTickets = allTickets.stream().filter(t -> t.getStatus() == TicketStatus.CLOSED).count();
-        long totalTickets = allTickets.size();
+        // Served from the incrementally maintained counters instead of scanning the table
+        return ticketStatusCounters.getOverallStatistics();
+    }
 
-        return new TicketStatistics(openTickets, inProgressTickets, resolvedTickets, closedTickets, totalTickets);
+    // Bulk operations (set-based, committed per chunk - must not join an outer transaction)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TicketBulkTransitionService.BulkTransitionResult closeResolvedTickets() {
+        return ticketBulkTransitionService.transition(TicketStatus.RESOLVED, TicketStatus.CLOSED, null);
     }
 
-    // Bulk operations
-    public void closeResolvedTickets() {
-        List<Ticket> resolvedTickets = ticketRepository.findByStatusOrderByCreatedAtAsc(TicketStatus.RESOLVED);
-        for (Ticket ticket : resolvedTickets) {
-            updateTicketStatus(ticket, TicketStatus.CLOSED);
+    // Runs under the same advisory lock and time box as the scheduled auto-close job
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TicketBulkTransitionService.BulkTransitionResult autoCloseOldResolvedTickets(int daysOld) {
+        if (daysOld < 0) {
+            throw new IllegalArgumentException("daysOld cannot be negative");
         }
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
+        return ticketBulkTransitionService.autoCloseExclusively(cutoffDate)
+                .orElseThrow(() -> new IllegalStateException("Another auto-close run is in progress"));
     }
 
-    public void autoCloseOldResolvedTickets(int daysOld) {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
-        List<Ticket> oldResolvedTickets = ticketRepository.findByStatusOrderByCreatedAtAsc(TicketStatus.RESOLVED)
-                .stream()
-                .filter(ticket -> ticket.getResolvedAt() != null && ticket.getResolvedAt().isBefore(cutoffDate))
-                .toList();
-        
-        for (Ticket ticket : oldResolvedTickets) {
-            updateTicketStatus(ticket, TicketStatus.CLOSED);
+    // Archival of soft-deleted and long-CLOSED tickets (chunked, committed per chunk). Runs under the same
+    // advisory lock and time box as the scheduled job; a run that is not complete can simply be repeated.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TicketArchiveService.ArchiveResult archiveOldTickets(int deletedDaysOld, int closedDaysOld) {
+        if (deletedDaysOld < 0 || closedDaysOld < 0) {
+            throw new IllegalArgumentException("Archive ages cannot be negative");
         }
+        LocalDateTime now = LocalDateTime.now();
+        return ticketArchiveService.archiveExclusively(now.minusDays(deletedDaysOld), now.minusDays(closedDaysOld))
+                .orElseThrow(() -> new IllegalStateException("Another archive run is in progress"));
     }
 
     // Search and validation
     @Transactional(readOnly = true)
     public boolean existsByTitleAndUser(String title, User user) {
-        return ticketRepository.existsByTitleAndUser(title, user);
+        return existsByTitleAndUserId(title, user.getId());
+    }
+
+    // Always asks the database: the per-instance Bloom filter misses titles created on other instances
+    @Transactional(readOnly = true)
+    public boolean existsByTitleAndUserId(String title, Long userId) {
+        return ticketRepository.existsByUserIdAndTitleHash(userId, Ticket.normalizedTitleHash(title));
     }
 
     @Transactional(readOnly = true)
@@ -264,22 +754,46 @@ public class TicketService {
     // Utility methods
     @Transactional(readOnly = true)
     public double getAverageResolutionTime() {
-        List<Ticket> closedTickets = ticketRepository.findByStatusOrderByCreatedAtAsc(TicketStatus.CLOSED)
-                .stream()
-                .filter(ticket -> ticket.getResolvedAt() != null && ticket.getCreatedAt() != null)
-                .toList();
+        // Aggregated in the database; no ticket rows are loaded. Each ticket counts in whole hours, as it
+        // always has here; getResolutionTimeStatistics has the fractional average
+        return valueOrZero(ticketRepository.findAverageWholeResolutionHoursByStatus(TicketStatus.CLOSED.name()));
+    }
+
+    @Transactional(readOnly = true)
+    public ResolutionTimeStatistics getResolutionTimeStatistics() {
+        ResolutionTimeSummary summary = ticketRepository.summarizeResolutionTimeByStatus(TicketStatus.CLOSED.name());
+        if (summary == null || summary.getTicketCount() == null || summary.getTicketCount() == 0) {
+            return new ResolutionTimeStatistics(0, 0.0, 0.0, 0.0, 0.0);
+        }
+
+        return new ResolutionTimeStatistics(
+                summary.getTicketCount(),
+                valueOrZero(summary.getAverageHours()),
+                valueOrZero(summary.getMedianHours()),
+                valueOrZero(summary.getP90Hours()),
+                valueOrZero(summary.getP95Hours()));
+    }
 
-        if (closedTickets.isEmpty()) {
-            return 0.0;
+    @Transactional(readOnly = true)
+    public double getResolutionTimePercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 1.0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
         }
+        return valueOrZero(ticketRepository.findResolutionTimePercentileByStatus(TicketStatus.CLOSED.name(), percentile));
+    }
 
-        double totalHours = closedTickets.stream()
-                .mapToDouble(ticket -> 
-                    java.time.Duration.between(ticket.getCreatedAt(), ticket.getResolvedAt()).toHours()
-                )
-                .sum();
+    private static double valueOrZero(Double value) {
+        return value != null ? value : 0.0;
+    }
 
-        return totalHours / closedTickets.size();
+    // DTOs for batch creation: one result per submitted ticket, in submission order
+    public record BatchItemResult(int index, Long ticketId, String error) {
+        public boolean isCreated() {
+            return error == null;
+        }
+    }
+
+    public record BatchCreateResult(int created, int rejected, List<BatchItemResult> items) {
     }
 
     // DTO for statistics
@@ -306,20 +820,64 @@ public class TicketService {
         public long getTotalTickets() { return totalTickets; }
     }
 
+    // DTO for resolution time analytics (hours)
+    public static class ResolutionTimeStatistics {
+        private final long ticketCount;
+        private final double averageHours;
+        private final double medianHours;
+        private final double p90Hours;
+        private final double p95Hours;
+
+        public ResolutionTimeStatistics(long ticketCount, double averageHours, double medianHours, double p90Hours, double p95Hours) {
+            this.ticketCount = ticketCount;
+            this.averageHours = averageHours;
+            this.medianHours = medianHours;
+            this.p90Hours = p90Hours;
+            this.p95Hours = p95Hours;
+        }
+
+        // Getters
+        public long getTicketCount() { return ticketCount; }
+        public double getAverageHours() { return averageHours; }
+        public double getMedianHours() { return medianHours; }
+        public double getP90Hours() { return p90Hours; }
+        public double getP95Hours() { return p95Hours; }
+    }
+
     // Soft delete compatibility
     public void softDeleteTicket(Long id) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Ticket not found with id: " + id));
         
         ticketRepository.deleteById(id);
+        ticketStatusCounters.ticketDeleted(ticket.getUser().getId(), ticket.getStatus());
+        agentWorkloadIndex.statusChanged(assigneeIdOf(ticket), ticket.getStatus(), null);
     }
 
-    public void softDeleteTicketsByUserId(Long userId) {
-        List<Ticket> userTickets = ticketRepository.findByUserIdOrderByCreatedAtDesc(userId, Pageable.unpaged())
-                .getContent();
-        
-        for (Ticket ticket : userTickets) {
-            ticketRepository.deleteById(ticket.getId());
+    public long softDeleteTicketsByUserId(Long userId) {
+        return softDeleteTicketsByUserIds(List.of(userId));
+    }
+
+    // Set-based: one UPDATE per chunk of user ids instead of a lookup and delete per ticket
+    public long softDeleteTicketsByUserIds(Collection<Long> userIds) {
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        Map<TicketStatus, Long> deletedByStatus = new EnumMap<>(TicketStatus.class);
+        long deleted = 0;
+        for (int from = 0; from < ids.size(); from += SOFT_DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + SOFT_DELETE_CHUNK_SIZE, ids.size()));
+            for (Object[] row : ticketRepository.softDeleteByUserIds(chunk)) {
+                entityDetacher.detach(Ticket.class, ((Number) row[0]).longValue());
+                if (row[1] != null) {
+                    deletedByStatus.merge(TicketStatus.valueOf((String) row[1]), 1L, Long::sum);
+                }
+                deleted++;
+            }
+        }
+        deletedByStatus.forEach(ticketStatusCounters::bulkRemoved);
+        if (deletedByStatus.containsKey(TicketStatus.IN_PROGRESS)) {
+            // Assignees of the deleted tickets are unknown; recount agent workloads
+            agentWorkloadIndex.rebuildAfterCommit();
         }
+        return deleted;
     }
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.repository.TicketRepository;
+import com.example.helpdeskticket.repository.projection.TicketStatusCount;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class TicketStatusCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketStatusCounters.class);
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private static final int CHANGE_STRIPES = 64;
+
+    private final TicketRepository ticketRepository;
+
+    // One slot per TicketStatus ordinal; read without locking, written under globalLock
+    private final AtomicLongArray globalCounts = new AtomicLongArray(STATUSES.length);
+
+    // Guarded by globalLock. One delta array per reconciliation that is reading the database: global changes
+    // applied meanwhile are recorded here and replayed onto the counts it read, since those replace the live ones.
+    private final ReentrantLock globalLock = new ReentrantLock();
+    private final List<long[]> reconcileLogs = new ArrayList<>();
+
+    // Per-user counters are loaded on first access and then maintained incrementally
+    private final Cache<Long, AtomicLongArray> userCounts;
+
+    // Bumped before a user's counters change (striped by user id) and before every clear. A load that
+    // overlapped one of them may have missed the change, so it is not kept.
+    private final AtomicLongArray userChanges = new AtomicLongArray(CHANGE_STRIPES);
+    private final AtomicLong userClears = new AtomicLong();
+
+    private volatile boolean initialized = false;
+
+    public TicketStatusCounters(TicketRepository ticketRepository,
+                                @Value("${helpdesk.tickets.statistics.max-cached-users:10000}") long maxCachedUsers) {
+        if (maxCachedUsers <= 0) {
+            throw new IllegalArgumentException("Max cached users must be positive");
+        }
+        this.ticketRepository = ticketRepository;
+        this.userCounts = Caffeine.newBuilder().maximumSize(maxCachedUsers).build();
+    }
+
+    // Read operations
+    public TicketService.TicketStatistics getOverallStatistics() {
+        if (!initialized) {
+            reconcile();
+        }
+        return toStatistics(globalCounts);
+    }
+
+    // Loads outside the cache, so the query holds no lock other users (or updates) would wait on
+    public TicketService.TicketStatistics getUserStatistics(Long userId) {
+        AtomicLongArray counts = userCounts.getIfPresent(userId);
+        if (counts != null) {
+            return toStatistics(counts);
+        }
+
+        long changes = userChanges.get(stripe(userId));
+        long clears = userClears.get();
+        AtomicLongArray loaded = loadUserCounts(userId);
+        AtomicLongArray existing = userCounts.asMap().putIfAbsent(userId, loaded);
+        if (existing != null) {
+            return toStatistics(existing);
+        }
+        // Checked after publishing: a change from here on finds the entry and applies to it.
+        // A change that committed just before the query may be counted twice; reconciliation evens it out.
+        if (userChanges.get(stripe(userId)) != changes || userClears.get() != clears) {
+            userCounts.asMap().remove(userId, loaded);
+        }
+        return toStatistics(loaded);
+    }
+
+    // Mutations - applied only once the surrounding transaction commits
+    public void ticketCreated(Long userId, TicketStatus status) {
+        TransactionCallbacks.afterCommit(() -> apply(userId, status, 1));
+    }
+
+    public void ticketDeleted(Long userId, TicketStatus status) {
+        TransactionCallbacks.afterCommit(() -> apply(userId, status, -1));
+    }
+
+    public void statusChanged(Long userId, TicketStatus oldStatus, TicketStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            apply(userId, oldStatus, -1);
+            apply(userId, newStatus, 1);
+        });
+    }
+
+    public void bulkStatusChanged(TicketStatus oldStatus, TicketStatus newStatus, long ticketCount) {
+        if (oldStatus == newStatus || ticketCount <= 0) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            addGlobal(oldStatus, -ticketCount);
+            addGlobal(newStatus, ticketCount);
+            // Affected users are unknown; reload their counters lazily
+            clearUserCounts();
+        });
+    }
+
+    // Live tickets leaving the statistics in bulk (archival, set-based soft delete)
+    public void bulkRemoved(TicketStatus status, long ticketCount) {
+        if (ticketCount <= 0) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            addGlobal(status, -ticketCount);
+            // Affected users are unknown; reload their counters lazily
+            clearUserCounts();
+        });
+    }
+
+    // Periodic reconciliation against the database aggregate
+    @Scheduled(fixedDelayString = "${helpdesk.tickets.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        // Identity matters for removal: concurrent reconciliations may hold equal arrays
+        long[] changes = new long[STATUSES.length];
+        globalLock.lock();
+        try {
+            reconcileLogs.add(changes);
+        } finally {
+            globalLock.unlock();
+        }
+
+        long[] counts;
+        try {
+            counts = toCounts(ticketRepository.countTicketsGroupedByStatus());
+        } catch (RuntimeException e) {
+            globalLock.lock();
+            try {
+                reconcileLogs.remove(changes);
+            } finally {
+                globalLock.unlock();
+            }
+            throw e;
+        }
+
+        // A change that committed just before the query may be counted twice; the next reconciliation evens it out
+        globalLock.lock();
+        try {
+            reconcileLogs.remove(changes);
+            for (int i = 0; i < counts.length; i++) {
+                long reconciled = counts[i] + changes[i];
+                long previous = globalCounts.getAndSet(i, reconciled);
+                if (initialized && previous != reconciled) {
+                    log.debug("Reconciled {} ticket count from {} to {}", STATUSES[i], previous, reconciled);
+                }
+            }
+            initialized = true;
+        } finally {
+            globalLock.unlock();
+        }
+
+        // Per-user counters are reloaded lazily on next access
+        clearUserCounts();
+    }
+
+    // Helper methods
+    private void apply(Long userId, TicketStatus status, long delta) {
+        if (status == null) {
+            return;
+        }
+        addGlobal(status, delta);
+        if (userId != null) {
+            userChanges.incrementAndGet(stripe(userId));
+            AtomicLongArray counts = userCounts.getIfPresent(userId);
+            if (counts != null) {
+                counts.addAndGet(status.ordinal(), delta);
+            }
+        }
+    }
+
+    private void addGlobal(TicketStatus status, long delta) {
+        globalLock.lock();
+        try {
+            if (initialized) {
+                globalCounts.addAndGet(status.ordinal(), delta);
+            }
+            for (long[] changes : reconcileLogs) {
+                changes[status.ordinal()] += delta;
+            }
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    private void clearUserCounts() {
+        userClears.incrementAndGet();
+        userCounts.invalidateAll();
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (CHANGE_STRIPES - 1);
+    }
+
+    private AtomicLongArray loadUserCounts(Long userId) {
+        return new AtomicLongArray(toCounts(ticketRepository.countTicketsByUserIdGroupedByStatus(userId)));
+    }
+
+    private static long[] toCounts(List<TicketStatusCount> rows) {
+        long[] counts = new long[STATUSES.length];
+        for (TicketStatusCount row : rows) {
+            if (row.status() != null) {
+                counts[row.status().ordinal()] = row.count();
+            }
+        }
+        return counts;
+    }
+
+    private static TicketService.TicketStatistics toStatistics(AtomicLongArray counts) {
+        long openTickets = counts.get(TicketStatus.OPEN.ordinal());
+        long inProgressTickets = counts.get(TicketStatus.IN_PROGRESS.ordinal());
+        long resolvedTickets = counts.get(TicketStatus.RESOLVED.ordinal());
+        long closedTickets = counts.get(TicketStatus.CLOSED.ordinal());
+        long totalTickets = openTickets + inProgressTickets + resolvedTickets + closedTickets;
+
+        return new TicketService.TicketStatistics(openTickets, inProgressTickets, resolvedTickets, closedTickets, totalTickets);
+    }
+}
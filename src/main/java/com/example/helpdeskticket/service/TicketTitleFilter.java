@@ -0,0 +1,146 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory Bloom filter over (user id, normalized title hash) of live tickets. A negative answer means
+// the pair is new to this instance, so ticket creation can skip the duplicate lookup; a positive answer
+// still goes to the database. Each instance only sees its own creates after the initial load, so a
+// negative answer is backed by the unique title_hash index at insert time: the filter stays off when
+// that index is missing. Soft deletes are never removed (they only cost an extra lookup).
+@Component
+public class TicketTitleFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketTitleFilter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int bitCount;
+    private final int hashCount;
+
+    private final AtomicLongArray bits;
+    private volatile boolean loaded = false;
+    // Cleared on load when the unique title_hash index is missing
+    private volatile boolean active;
+    // Held while loading from the database
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public TicketTitleFilter(JdbcTemplate jdbcTemplate,
+                             @Value("${helpdesk.tickets.duplicate-check.bloom-filter.enabled:false}") boolean enabled,
+                             @Value("${helpdesk.tickets.duplicate-check.bloom-filter.expected-tickets:1000000}") long expectedTickets,
+                             @Value("${helpdesk.tickets.duplicate-check.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        if (expectedTickets <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs positive expected tickets and a false positive rate in (0, 1)");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.active = enabled;
+
+        // Standard sizing: m = -n ln p / (ln 2)^2 bits, k = m/n ln 2 hash functions
+        long optimalBits = (long) Math.ceil(-expectedTickets * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, optimalBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedTickets * Math.log(2)));
+        this.bits = new AtomicLongArray(enabled ? (bitCount + 63) / 64 : 0);
+    }
+
+    // False only when the user certainly has no live ticket with this title hash
+    public boolean mightContain(Long userId, String titleHash) {
+        if (!enabled || titleHash == null) {
+            return true;
+        }
+        if (!loaded) {
+            load();
+        }
+        if (!active) {
+            return true;
+        }
+        long h1 = mix(userId, titleHash, 0);
+        long h2 = mix(userId, titleHash, 16) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void addAfterCommit(Long userId, String titleHash) {
+        if (!enabled || titleHash == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> add(userId, titleHash));
+    }
+
+    private void add(Long userId, String titleHash) {
+        long h1 = mix(userId, titleHash, 0);
+        long h2 = mix(userId, titleHash, 16) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bitCount);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    // Single pass over the index-covered columns; additions racing with the load are kept
+    private void load() {
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            if (!hasUniqueTitleIndex()) {
+                active = false;
+                loaded = true;
+                log.warn("Ticket title Bloom filter disabled: unique index {} is missing",
+                        TicketRepository.TITLE_HASH_UNIQUE_INDEX);
+                return;
+            }
+            long[] count = {0};
+            jdbcTemplate.query("SELECT user_id, title_hash FROM tickets WHERE is_deleted = false AND title_hash IS NOT NULL",
+                    rs -> {
+                        add(rs.getLong(1), rs.getString(2));
+                        count[0]++;
+                    });
+            loaded = true;
+            log.info("Ticket title Bloom filter loaded with {} tickets ({} bits, {} hashes)", count[0], bitCount, hashCount);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Valid unique index only (V5 falls back to a plain one when live duplicates exist). PostgreSQL only.
+    private boolean hasUniqueTitleIndex() {
+        try {
+            Boolean present = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_index i " +
+                    "JOIN pg_class c ON c.oid = i.indexrelid " +
+                    "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                    "WHERE n.nspname = current_schema() AND c.relname = ? AND i.indisunique AND i.indisvalid)",
+                    Boolean.class, TicketRepository.TITLE_HASH_UNIQUE_INDEX);
+            return Boolean.TRUE.equals(present);
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    // The title hash is already uniformly distributed: take 64 of its bits, mixed with the user id
+    private static long mix(Long userId, String titleHash, int offset) {
+        long hashBits = HexFormat.fromHexDigitsToLong(titleHash, offset, offset + 16);
+        long user = userId != null ? userId : 0L;
+        return hashBits ^ (user * 0x9E37_79B9_7F4A_7C15L);
+    }
+}
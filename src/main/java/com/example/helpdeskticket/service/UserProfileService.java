@@ -9,16 +9,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class UserProfileService {
 
+    // User ids per set-based soft delete statement (bounds the IN list)
+    static final int SOFT_DELETE_CHUNK_SIZE = 1000;
+
     private final UserProfileRepository userProfileRepository;
+    private final EntityDetacher entityDetacher;
 
-    public UserProfileService(UserProfileRepository userProfileRepository) {
+    public UserProfileService(UserProfileRepository userProfileRepository, EntityDetacher entityDetacher) {
         this.userProfileRepository = userProfileRepository;
+        this.entityDetacher = entityDetacher;
     }
 
     // Basic CRUD operations
@@ -228,13 +234,18 @@ public class UserProfileService {
         return (filledFields * 100.0) / totalFields;
     }
 
-    // Bulk operations
-    public void deleteProfilesByUserIds(List<Long> userIds) {
-        for (Long userId : userIds) {
-            findByUserId(userId).ifPresent(profile -> 
-                userProfileRepository.deleteById(profile.getId())
-            );
+    // Bulk operations (set-based: one UPDATE per chunk of user ids); returns the number of profiles deleted
+    public long deleteProfilesByUserIds(List<Long> userIds) {
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        long deleted = 0;
+        for (int from = 0; from < ids.size(); from += SOFT_DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + SOFT_DELETE_CHUNK_SIZE, ids.size()));
+            for (Long profileId : userProfileRepository.softDeleteByUserIds(chunk)) {
+                entityDetacher.detach(UserProfile.class, profileId);
+                deleted++;
+            }
         }
+        return deleted;
     }
 
     // Statistics
@@ -2,6 +2,8 @@ package com.example.helpdeskticket.service;
 
 import com.example.helpdeskticket.model.User;
 import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.repository.LocationRepository;
+import com.example.helpdeskticket.repository.UserFetchPlan;
 import com.example.helpdeskticket.repository.UserRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,10 +20,13 @@ import java.util.Set;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final LocationRepository locationRepository;
     private final PasswordEncoder passwordEncoder;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, LocationRepository locationRepository,
+                       PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
+        this.locationRepository = locationRepository;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -36,6 +41,22 @@ public class UserService {
         return userRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Page<UserView> findAll(Pageable pageable, UserFetchPlan plan) {
+        return switch (plan) {
+            case SUMMARY -> userRepository.findAllSummaries(pageable)
+                    .map(user -> UserView.of(user, plan));
+            case WITH_LOCATION_PATH -> userRepository.findAllWithLocationPath(pageable)
+                    .map(user -> UserView.of(user, plan));
+            case WITH_ROLES -> {
+                Page<User> users = userRepository.findAllSummaries(pageable);
+                // Second statement initializes roles for the whole page in the persistence context
+                loadRoles(users.getContent());
+                yield users.map(user -> UserView.of(user, plan));
+            }
+        };
+    }
+
     @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
@@ -132,7 +153,36 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public List<User> findByProvinceCodeOrName(String codeOrName) {
-        return userRepository.findByProvinceCodeOrName(codeOrName);
+        return findByProvincePath(codeOrName, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserView> findByProvinceCodeOrName(String codeOrName, UserFetchPlan plan) {
+        List<User> users = findByProvincePath(codeOrName, plan == UserFetchPlan.WITH_LOCATION_PATH);
+        if (plan == UserFetchPlan.WITH_ROLES) {
+            loadRoles(users);
+        }
+        return users.stream()
+                .map(user -> UserView.of(user, plan))
+                .toList();
+    }
+
+    // Resolve the province's materialized path, then match users by path prefix
+    private List<User> findByProvincePath(String codeOrName, boolean withLocationPath) {
+        List<String> provincePaths = locationRepository.findProvincePathsByCodeOrName(codeOrName);
+        if (provincePaths.isEmpty() || provincePaths.get(0) == null) {
+            return List.of();
+        }
+        String pathPrefix = provincePaths.get(0);
+        return withLocationPath
+                ? userRepository.findByLocationPathPrefixWithLocationPath(pathPrefix)
+                : userRepository.findByLocationPathPrefix(pathPrefix);
+    }
+
+    private void loadRoles(List<User> users) {
+        if (!users.isEmpty()) {
+            userRepository.findAllWithRolesByIdIn(users.stream().map(User::getId).toList());
+        }
     }
 
     // Role management
@@ -175,7 +225,7 @@ public Optional<Location> findProvinceByUserVillage(Long userId) {
     public List<User> findUsersInSameProvince(Long userId) {
         Optional<Location> province = findProvinceByUserVillage(userId);
         if (province.isPresent()) {
-            return userRepository.findByProvinceCodeOrName(province.get().getCode());
+            return userRepository.findByLocationPathPrefix(province.get().getPath());
         }
         return List.of();
     }
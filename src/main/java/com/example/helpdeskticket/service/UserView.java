@@ -0,0 +1,41 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Role;
+import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.UserFetchPlan;
+import com.example.helpdeskticket.repository.projection.LocationSummary;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// User response shaped by the fetch plan; only associations the plan loaded are included
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserView(Long id, String email, String firstName, String lastName, LocalDateTime createdAt,
+                       List<String> roles, List<LocationSummary> locationPath) {
+
+    public static UserView of(User user, UserFetchPlan plan) {
+        List<String> roles = null;
+        List<LocationSummary> locationPath = null;
+
+        if (plan == UserFetchPlan.WITH_ROLES) {
+            roles = user.getRoles().stream()
+                    .map(Role::getName)
+                    .sorted()
+                    .toList();
+        }
+
+        if (plan == UserFetchPlan.WITH_LOCATION_PATH) {
+            // Village first, province last
+            locationPath = new ArrayList<>();
+            for (Location current = user.getLocation(); current != null; current = current.getParent()) {
+                locationPath.add(LocationSummary.of(current));
+            }
+        }
+
+        return new UserView(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getCreatedAt(), roles, locationPath);
+    }
+}
@@ -0,0 +1,102 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+
+// Title hashes depend on Java's Unicode normalization, so they are backfilled here rather than in SQL.
+// The per-user unique index is then created; if live duplicates already exist, a plain index is created
+// instead so lookups stay indexed, and MissingIndexReporter keeps reporting the missing unique index.
+// The hash routine and index name are frozen copies: Flyway keeps no checksum for Java migrations, so
+// this must not follow later changes to Ticket.normalizedTitleHash (those need a migration of their own).
+public class V5__Backfill_ticket_title_hashes extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V5__Backfill_ticket_title_hashes.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String TITLE_HASH_UNIQUE_INDEX = "uq_tickets_user_title_hash";
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        long filled = backfill(connection);
+        if (filled > 0) {
+            log.info("Backfilled title hashes for {} tickets", filled);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            if (hasLiveDuplicates(statement)) {
+                log.warn("Live tickets with duplicate titles exist; creating a non-unique index instead of {}",
+                        TITLE_HASH_UNIQUE_INDEX);
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_tickets_user_title_hash " +
+                        "ON tickets (user_id, title_hash) WHERE is_deleted = false");
+            } else {
+                statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + TITLE_HASH_UNIQUE_INDEX +
+                        " ON tickets (user_id, title_hash) WHERE is_deleted = false");
+            }
+        }
+    }
+
+    private static long backfill(Connection connection) throws SQLException {
+        long filled = 0;
+        long lastId = Long.MIN_VALUE;
+        try (PreparedStatement select = connection.prepareStatement(
+                     "SELECT id, title FROM tickets WHERE title_hash IS NULL AND id > ? ORDER BY id LIMIT " + BATCH_SIZE);
+             PreparedStatement update = connection.prepareStatement("UPDATE tickets SET title_hash = ? WHERE id = ?")) {
+            int rows;
+            do {
+                rows = 0;
+                select.setLong(1, lastId);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        lastId = rs.getLong(1);
+                        update.setString(1, titleHash(rs.getString(2)));
+                        update.setLong(2, lastId);
+                        update.addBatch();
+                        rows++;
+                    }
+                }
+                update.executeBatch();
+                filled += rows;
+            } while (rows == BATCH_SIZE);
+        }
+        return filled;
+    }
+
+    private static boolean hasLiveDuplicates(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT 1 FROM tickets WHERE is_deleted = false " +
+                "GROUP BY user_id, title_hash HAVING COUNT(*) > 1 LIMIT 1")) {
+            return rs.next();
+        }
+    }
+
+    // Ticket.normalizedTitleHash as of this migration: NFKC, lower case, collapsed whitespace, SHA-256 hex
+    static String titleHash(String title) {
+        if (title == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+-- Schema as previously created by Hibernate ddl-auto=update (identity ids).
+-- Idempotent so that existing databases can be brought under Flyway with baseline version 0.
+
+CREATE TABLE IF NOT EXISTS locations (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    code varchar(2),
+    is_deleted boolean NOT NULL,
+    level integer NOT NULL,
+    created_at timestamp(6),
+    deleted_at timestamp(6),
+    parent_id bigint,
+    name varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    is_deleted boolean NOT NULL,
+    created_at timestamp(6),
+    deleted_at timestamp(6),
+    name varchar(255) NOT NULL UNIQUE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    is_deleted boolean NOT NULL,
+    created_at timestamp(6),
+    deleted_at timestamp(6),
+    location_id bigint NOT NULL,
+    email varchar(255) NOT NULL UNIQUE,
+    first_name varchar(255) NOT NULL,
+    last_name varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_profiles (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    is_deleted boolean NOT NULL,
+    created_at timestamp(6),
+    deleted_at timestamp(6),
+    user_id bigint NOT NULL UNIQUE,
+    phone varchar(20),
+    bio varchar(500),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    role_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    PRIMARY KEY (role_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    is_deleted boolean NOT NULL,
+    created_at timestamp(6),
+    deleted_at timestamp(6),
+    resolved_at timestamp(6),
+    user_id bigint NOT NULL,
+    title varchar(1000) NOT NULL,
+    description varchar(5000),
+    status varchar(255) CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED')),
+    PRIMARY KEY (id)
+);
+
+-- Foreign keys keep the names Hibernate generated, so existing databases already have them
+DO $$
+BEGIN
+    ALTER TABLE locations ADD CONSTRAINT FKhjdkpuoptx1cd04r3atchkpi0 FOREIGN KEY (parent_id) REFERENCES locations;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END $$;
+
+DO $$
+BEGIN
+    ALTER TABLE users ADD CONSTRAINT FKdk0xfnnthbj8afp1ira6sndte FOREIGN KEY (location_id) REFERENCES locations;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END $$;
+
+DO $$
+BEGIN
+    ALTER TABLE user_profiles ADD CONSTRAINT FKjcad5nfve11khsnpwj1mv8frj FOREIGN KEY (user_id) REFERENCES users;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END $$;
+
+DO $$
+BEGIN
+    ALTER TABLE user_roles ADD CONSTRAINT FKh8ciramu9cc9q3qcqiv4ue8a6 FOREIGN KEY (role_id) REFERENCES roles;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END $$;
+
+DO $$
+BEGIN
+    ALTER TABLE user_roles ADD CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END $$;
+
+DO $$
+BEGIN
+    ALTER TABLE tickets ADD CONSTRAINT FK4eqsebpimnjen0q46ja6fl2hl FOREIGN KEY (user_id) REFERENCES users;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END $$;
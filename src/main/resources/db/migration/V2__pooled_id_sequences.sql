@@ -0,0 +1,32 @@
+-- Ids come from one pooled-lo sequence per table (INCREMENT BY = IdGeneration.ALLOCATION_SIZE).
+-- Each sequence starts past the ids already assigned by the identity columns, which are then dropped.
+
+CREATE SEQUENCE IF NOT EXISTS locations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS roles_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS user_profiles_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tickets_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE locations_seq INCREMENT BY 50;
+ALTER SEQUENCE roles_seq INCREMENT BY 50;
+ALTER SEQUENCE users_seq INCREMENT BY 50;
+ALTER SEQUENCE user_profiles_seq INCREMENT BY 50;
+ALTER SEQUENCE tickets_seq INCREMENT BY 50;
+
+-- Only ever moves a sequence forward
+SELECT setval('locations_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM locations) t
+WHERE t.max_id >= (SELECT last_value FROM locations_seq);
+SELECT setval('roles_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM roles) t
+WHERE t.max_id >= (SELECT last_value FROM roles_seq);
+SELECT setval('users_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM users) t
+WHERE t.max_id >= (SELECT last_value FROM users_seq);
+SELECT setval('user_profiles_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM user_profiles) t
+WHERE t.max_id >= (SELECT last_value FROM user_profiles_seq);
+SELECT setval('tickets_seq', t.max_id + 1, false) FROM (SELECT MAX(id) AS max_id FROM tickets) t
+WHERE t.max_id >= (SELECT last_value FROM tickets_seq);
+
+ALTER TABLE locations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE user_profiles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tickets ALTER COLUMN id DROP IDENTITY IF EXISTS;
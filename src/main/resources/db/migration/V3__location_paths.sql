@@ -0,0 +1,15 @@
+-- Materialized path ("/1/7/42/") maintained by LocationService; backfilled from the parent links
+
+ALTER TABLE locations ADD COLUMN IF NOT EXISTS path varchar(255);
+
+WITH RECURSIVE tree(id, path) AS (
+    SELECT id, '/' || id || '/' FROM locations WHERE parent_id IS NULL
+    UNION ALL
+    SELECT l.id, t.path || l.id || '/' FROM locations l JOIN tree t ON l.parent_id = t.id
+)
+UPDATE locations SET path = tree.path FROM tree
+WHERE locations.id = tree.id AND locations.path IS DISTINCT FROM tree.path;
+
+-- text_pattern_ops so that "path LIKE '/1/7/%'" is an index range scan whatever the collation
+DROP INDEX IF EXISTS idx_locations_path;
+CREATE INDEX idx_locations_path ON locations (path text_pattern_ops);
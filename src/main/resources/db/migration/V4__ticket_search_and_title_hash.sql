@@ -0,0 +1,9 @@
+-- Full-text search: title matches outrank description matches; 'simple' config because tickets mix languages
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_search_vector ON tickets USING GIN (search_vector);
+
+-- Normalized title hash for duplicate detection; filled by V5 (the normalization is done in Java)
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS title_hash varchar(64);
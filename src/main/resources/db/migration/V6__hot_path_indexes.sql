@@ -0,0 +1,44 @@
+-- Composite indexes for the repository hot paths. All are partial on is_deleted = false, the
+-- predicate every @Where-filtered entity query and native query carries, so soft-deleted rows
+-- stay out of them. On a large live tickets table, build them beforehand with CREATE INDEX
+-- CONCURRENTLY under the same names so writes keep flowing; IF NOT EXISTS then skips them here.
+
+-- TicketRepository: by user, newest first (lists, keyset cursor, streaming export)
+CREATE INDEX IF NOT EXISTS idx_tickets_user_created
+    ON tickets (user_id, created_at DESC, id DESC) WHERE is_deleted = false;
+
+-- TicketRepository: per-user status counts and counters
+CREATE INDEX IF NOT EXISTS idx_tickets_user_status
+    ON tickets (user_id, status) WHERE is_deleted = false;
+
+-- TicketRepository: by status, oldest first (queues, keyset cursor, summaries, grouped counts)
+CREATE INDEX IF NOT EXISTS idx_tickets_status_created
+    ON tickets (status, created_at, id) WHERE is_deleted = false;
+
+-- TicketRepository: auto-close of old resolved tickets and resolution time analytics
+CREATE INDEX IF NOT EXISTS idx_tickets_status_resolved
+    ON tickets (status, resolved_at) WHERE is_deleted = false;
+
+-- TicketRepository: all tickets, newest first (keyset cursor, summaries)
+CREATE INDEX IF NOT EXISTS idx_tickets_created
+    ON tickets (created_at DESC, id DESC) WHERE is_deleted = false;
+
+-- LocationRepository: children of a parent, duplicate name check under a parent
+CREATE INDEX IF NOT EXISTS idx_locations_parent_name
+    ON locations (parent_id, name) WHERE is_deleted = false;
+
+-- LocationRepository: lookup by name
+CREATE INDEX IF NOT EXISTS idx_locations_name
+    ON locations (name) WHERE is_deleted = false;
+
+-- LocationRepository / UserService: province by code
+CREATE INDEX IF NOT EXISTS idx_locations_province_code
+    ON locations (code) WHERE is_deleted = false AND parent_id IS NULL;
+
+-- UserRepository: users by location
+CREATE INDEX IF NOT EXISTS idx_users_location
+    ON users (location_id) WHERE is_deleted = false;
+
+-- UserRepository: roles of a page of users (the primary key leads with role_id)
+CREATE INDEX IF NOT EXISTS idx_user_roles_user
+    ON user_roles (user_id);
@@ -0,0 +1,41 @@
+-- Archive for soft-deleted and long-CLOSED tickets, moved out of the hot tickets table by TicketArchiveService.
+-- Range-partitioned by month of created_at so old months can be detached or dropped as a whole; rows without
+-- created_at land in the default partition. No primary key: it would have to include the (nullable) partition key.
+
+CREATE TABLE IF NOT EXISTS tickets_archive (
+    id bigint NOT NULL,
+    is_deleted boolean NOT NULL,
+    created_at timestamp(6),
+    deleted_at timestamp(6),
+    resolved_at timestamp(6),
+    archived_at timestamp(6) NOT NULL,
+    user_id bigint NOT NULL,
+    title varchar(1000) NOT NULL,
+    description varchar(5000),
+    status varchar(255) CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED'))
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS tickets_archive_default PARTITION OF tickets_archive DEFAULT;
+
+-- Monthly partition covering the given timestamp; returns its name. Called before each archive chunk.
+CREATE OR REPLACE FUNCTION tickets_archive_ensure_partition(month_start timestamp) RETURNS text AS $$
+DECLARE
+    from_ts timestamp := date_trunc('month', month_start);
+    partition_name text := 'tickets_archive_' || to_char(from_ts, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF tickets_archive FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, from_ts, from_ts + interval '1 month');
+    RETURN partition_name;
+END
+$$ LANGUAGE plpgsql;
+
+-- Archive lookups by id and the per-user history read path (indexes cascade to every partition)
+CREATE INDEX IF NOT EXISTS idx_tickets_archive_id
+    ON tickets_archive (id);
+
+CREATE INDEX IF NOT EXISTS idx_tickets_archive_user_created
+    ON tickets_archive (user_id, created_at DESC, id DESC) WHERE is_deleted = false;
+
+-- Soft-deleted tickets waiting to be archived; stays small because the archive job drains it
+CREATE INDEX IF NOT EXISTS idx_tickets_deleted_at
+    ON tickets (deleted_at) WHERE is_deleted = true;
@@ -0,0 +1,15 @@
+-- Agent a ticket is assigned to (a user with the AGENT role); null until assigned
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS assignee_id bigint;
+
+DO $$
+BEGIN
+    ALTER TABLE tickets ADD CONSTRAINT fk_tickets_assignee FOREIGN KEY (assignee_id) REFERENCES users;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END $$;
+
+-- AgentWorkloadIndex rebuild (IN_PROGRESS tickets per assignee) and per-agent queues
+CREATE INDEX IF NOT EXISTS idx_tickets_assignee_status
+    ON tickets (assignee_id, status) WHERE is_deleted = false AND assignee_id IS NOT NULL;
+
+-- Archived tickets keep their assignee (plain id, like user_id)
+ALTER TABLE tickets_archive ADD COLUMN IF NOT EXISTS assignee_id bigint;
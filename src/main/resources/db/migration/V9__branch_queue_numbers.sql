@@ -0,0 +1,28 @@
+-- Human-facing daily queue number per branch (a location); both null for tickets not issued at a branch
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS branch_id bigint;
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS queue_date date;
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS queue_number integer;
+
+DO $$
+BEGIN
+    ALTER TABLE tickets ADD CONSTRAINT fk_tickets_branch FOREIGN KEY (branch_id) REFERENCES locations;
+EXCEPTION WHEN duplicate_object THEN NULL;
+END $$;
+
+-- One ticket per number and day at a branch (safety net behind QueueNumberService), and the daily queue
+CREATE UNIQUE INDEX IF NOT EXISTS idx_tickets_branch_queue
+    ON tickets (branch_id, queue_date, queue_number) WHERE branch_id IS NOT NULL;
+
+-- Per-branch, per-day counter: the last number handed out in a block to any instance.
+-- QueueNumberService reserves blocks with a single upsert, so instances never get overlapping numbers.
+CREATE TABLE IF NOT EXISTS queue_number_blocks (
+    location_id bigint NOT NULL REFERENCES locations,
+    queue_date date NOT NULL,
+    last_value integer NOT NULL,
+    PRIMARY KEY (location_id, queue_date)
+);
+
+-- Archived tickets keep their queue number
+ALTER TABLE tickets_archive ADD COLUMN IF NOT EXISTS branch_id bigint;
+ALTER TABLE tickets_archive ADD COLUMN IF NOT EXISTS queue_date date;
+ALTER TABLE tickets_archive ADD COLUMN IF NOT EXISTS queue_number integer;
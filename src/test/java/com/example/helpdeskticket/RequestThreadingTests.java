@@ -0,0 +1,97 @@
+package com.example.helpdeskticket;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// One database-backed request against the app on platform threads and on virtual threads: it must be
+// handled on the kind of thread the mode asks for, with the short connection wait in virtual-thread mode
+// only. Behaviour under load is RequestThreadingBenchmarks (jmh profile).
+class RequestThreadingTests {
+
+    @Test
+    void platformThreadModeHandlesRequestsOnPlatformThreads() throws Exception {
+        RunResult result = run(false);
+
+        assertThat(result.status()).isEqualTo(200);
+        assertThat(result.handlerThreadsVirtual()).containsExactly(false);
+        // Hikari's default
+        assertThat(result.connectionTimeout()).isEqualTo(30_000);
+    }
+
+    @Test
+    void virtualThreadModeHandlesRequestsOnVirtualThreads() throws Exception {
+        RunResult result = run(true);
+
+        assertThat(result.status()).isEqualTo(200);
+        assertThat(result.handlerThreadsVirtual()).containsExactly(true);
+        assertThat(result.connectionTimeout()).isEqualTo(5_000);
+    }
+
+    private static RunResult run(boolean virtualThreads) throws Exception {
+        // Command-line arguments, so they override application.properties (plain properties would not)
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                new SpringApplicationBuilder(HelpdeskticketApplication.class, HandlerThreadRecorder.class).run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:threading-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.flyway.enabled=false",
+                        "--helpdesk.tickets.auto-close.enabled=false",
+                        "--helpdesk.tickets.archive.enabled=false",
+                        "--logging.level.org.hibernate.SQL=WARN")) {
+
+            int port = context.getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/tickets/summaries?size=20");
+            HttpResponse<Void> response = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()
+                    .send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+            return new RunResult(response.statusCode(), Set.copyOf(context.getBean(HandlerThreadRecorder.class).virtual),
+                    context.getBean(HikariDataSource.class).getConnectionTimeout());
+        }
+    }
+
+    private record RunResult(int status, Set<Boolean> handlerThreadsVirtual, long connectionTimeout) {
+    }
+
+    // Records, for every request, whether the thread handling it was virtual
+    @TestConfiguration(proxyBeanMethods = false)
+    static class HandlerThreadRecorder {
+
+        private final Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+
+        @Bean
+        OncePerRequestFilter handlerThreadFilter() {
+            return new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                FilterChain chain) throws ServletException, IOException {
+                    virtual.add(Thread.currentThread().isVirtual());
+                    chain.doFilter(request, response);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.helpdeskticket.config;
+
+import com.example.helpdeskticket.controller.TicketController;
+import com.example.helpdeskticket.service.TicketExportService;
+import com.example.helpdeskticket.service.TicketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Export responses get the long async timeout configured for them instead of the default
+@WebMvcTest(controllers = TicketController.class)
+@TestPropertySource(properties = {"helpdesk.tickets.export.request-timeout=45m", "spring.mvc.async.request-timeout=10s"})
+class AsyncRequestTimeoutsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TicketService ticketService;
+
+    @MockitoBean
+    private TicketExportService ticketExportService;
+
+    @Test
+    void exportRaisesTheTimeoutOfItsOwnRequest() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tickets/all/stream")).andExpect(request().asyncStarted()).andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(45).toMillis());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.helpdeskticket.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The session lock is taken and released on one connection outside any transaction, which goes back to the
+// pool afterwards; a connection that could not release the lock is aborted instead.
+class AdvisoryLockTests {
+
+    private static final long KEY = 42L;
+    private static final String LOCK = "SELECT pg_try_advisory_lock(?)";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(?)";
+
+    private Connection connection;
+    private AdvisoryLock advisoryLock;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        advisoryLock = new AdvisoryLock(dataSource);
+    }
+
+    @Test
+    void busyLockSkipsTheAction() throws SQLException {
+        PreparedStatement lock = returning(LOCK, false);
+
+        assertThat(advisoryLock.runExclusively(KEY, () -> "ran")).isEmpty();
+
+        verify(lock).setLong(1, KEY);
+        verify(connection, never()).prepareStatement(UNLOCK);
+        verify(connection).close();
+    }
+
+    @Test
+    void acquiredLockIsReleasedOnTheSameConnection() throws SQLException {
+        returning(LOCK, true);
+        PreparedStatement unlock = returning(UNLOCK, true);
+
+        assertThat(advisoryLock.runExclusively(KEY, () -> "ran")).contains("ran");
+
+        verify(unlock).setLong(1, KEY);
+        verify(connection, never()).abort(any(Executor.class));
+        verify(connection).close();
+    }
+
+    @Test
+    void lockIsReleasedWhenTheActionFails() throws SQLException {
+        returning(LOCK, true);
+        PreparedStatement unlock = returning(UNLOCK, true);
+
+        assertThatThrownBy(() -> advisoryLock.runExclusively(KEY, () -> {
+            throw new IllegalStateException("chunk failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(unlock).executeQuery();
+        verify(connection).close();
+    }
+
+    @Test
+    void connectionThatCannotReleaseTheLockIsAborted() throws SQLException {
+        returning(LOCK, true);
+        PreparedStatement unlock = mock(PreparedStatement.class);
+        when(connection.prepareStatement(UNLOCK)).thenReturn(unlock);
+        when(unlock.executeQuery()).thenThrow(new SQLException("connection reset", "08006"));
+
+        assertThat(advisoryLock.runExclusively(KEY, () -> "ran")).contains("ran");
+
+        verify(connection).abort(any(Executor.class));
+    }
+
+    private PreparedStatement returning(String sql, boolean value) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(sql)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getBoolean(1)).thenReturn(value);
+        return statement;
+    }
+}
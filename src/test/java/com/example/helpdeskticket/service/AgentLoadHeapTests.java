@@ -0,0 +1,91 @@
+package com.example.helpdeskticket.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Least-loaded assignment over thousands of agents, checked against a linear scan of every agent's load.
+// The speed comparison is AgentLoadHeapBenchmarks (jmh profile).
+class AgentLoadHeapTests {
+
+    private static final int AGENTS = 5_000;
+    private static final int OPERATIONS = 50_000;
+
+    @Test
+    void heapPicksTheSameAgentAsALinearScan() {
+        AgentLoadHeap heap = new AgentLoadHeap(AGENTS);
+        int[] loads = new int[AGENTS];
+        for (int i = 0; i < AGENTS; i++) {
+            heap.put(i, 0);
+        }
+
+        // Random mix of assignments and completions, checked step by step against the plain array
+        Random random = new Random(42);
+        Deque<Long> open = new ArrayDeque<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (open.isEmpty() || random.nextInt(3) > 0) {
+                long agentId = heap.assignLeastLoaded();
+                assertThat(agentId).isEqualTo(linearLeastLoaded(loads));
+                loads[(int) agentId]++;
+                open.add(agentId);
+            } else {
+                long agentId = random.nextBoolean() ? open.pollFirst() : open.pollLast();
+                heap.adjust(agentId, -1);
+                loads[(int) agentId]--;
+            }
+        }
+        for (int i = 0; i < AGENTS; i++) {
+            assertThat(heap.loadOf(i)).isEqualTo(loads[i]);
+        }
+    }
+
+    @Test
+    void assignmentsStayBalancedAcrossThousandsOfAgents() {
+        AgentLoadHeap heap = new AgentLoadHeap(AGENTS);
+        for (int i = 0; i < AGENTS; i++) {
+            heap.put(i, 0);
+        }
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            heap.assignLeastLoaded();
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int i = 0; i < AGENTS; i++) {
+            min = Math.min(min, heap.loadOf(i));
+            max = Math.max(max, heap.loadOf(i));
+        }
+        assertThat(max - min).isLessThanOrEqualTo(1);
+        assertThat(heap.size()).isEqualTo(AGENTS);
+    }
+
+    @Test
+    void removedAgentsAreNoLongerAssigned() {
+        AgentLoadHeap heap = new AgentLoadHeap(4);
+        heap.put(1, 0);
+        heap.put(2, 5);
+        heap.put(3, 1);
+
+        assertThat(heap.remove(1)).isTrue();
+        assertThat(heap.contains(1)).isFalse();
+        assertThat(heap.assignLeastLoaded()).isEqualTo(3);
+        assertThat(heap.loadOf(3)).isEqualTo(2);
+        assertThat(heap.adjust(1, 1)).isFalse();
+    }
+
+    // Lowest load, ties to the lowest id - same order as the heap
+    private static int linearLeastLoaded(int[] loads) {
+        int best = 0;
+        for (int i = 1; i < loads.length; i++) {
+            if (loads[i] < loads[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.repository.TicketRepository;
+import com.example.helpdeskticket.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Reservations made inside a transaction that has not completed yet survive a rebuild (the database
+// cannot see them), and are released if that transaction rolls back. Changes that commit while a rebuild
+// reads the database are replayed onto the rebuilt heap, and so are agents registered meanwhile.
+class AgentWorkloadIndexTests {
+
+    private final List<Object[]> inProgressCounts = new ArrayList<>();
+    private Runnable duringRead = () -> { };
+    private AgentWorkloadIndex index;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findIdsByRoleName(AgentWorkloadIndex.AGENT_ROLE)).thenReturn(List.of(1L, 2L));
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        when(ticketRepository.countByAssigneeAndStatus(TicketStatus.IN_PROGRESS)).thenAnswer(invocation -> {
+            List<Object[]> counts = new ArrayList<>(inProgressCounts);
+            duringRead.run();
+            return counts;
+        });
+        index = new AgentWorkloadIndex(ticketRepository, userRepository);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuildKeepsReservationsOfOpenTransactions() {
+        TransactionSynchronizationManager.initSynchronization();
+        Long agentId = index.reserveLeastLoaded();
+
+        index.rebuild();
+        assertThat(index.getLoad(agentId)).isEqualTo(1);
+
+        // Committed: the ticket is in the database now, so the next rebuild counts it from there only
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        inProgressCounts.add(new Object[]{agentId, 1L});
+        index.rebuild();
+        assertThat(index.getLoad(agentId)).isEqualTo(1);
+    }
+
+    @Test
+    void rollbackAfterRebuildReleasesTheReservation() {
+        TransactionSynchronizationManager.initSynchronization();
+        Long agentId = index.reserveLeastLoaded();
+        index.rebuild();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(index.getLoad(agentId)).isZero();
+
+        index.rebuild();
+        assertThat(index.getLoad(agentId)).isZero();
+    }
+
+    @Test
+    void reservationWithoutTransactionIsFinal() {
+        Long agentId = index.reserveLeastLoaded();
+
+        assertThat(index.getLoad(agentId)).isEqualTo(1);
+        index.rebuild();
+        assertThat(index.getLoad(agentId)).isZero();
+    }
+
+    @Test
+    void changeCommittedDuringTheReadIsReplayed() {
+        duringRead = () -> index.statusChanged(1L, TicketStatus.OPEN, TicketStatus.IN_PROGRESS);
+
+        index.rebuild();
+
+        assertThat(index.getLoad(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void reservationCommittedDuringTheReadIsReplayed() {
+        TransactionSynchronizationManager.initSynchronization();
+        Long agentId = index.reserveLeastLoaded();
+        duringRead = () -> complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // The read misses the committed ticket, and the reservation is no longer pending at the swap
+        index.rebuild();
+
+        assertThat(index.getLoad(agentId)).isEqualTo(1);
+    }
+
+    @Test
+    void registeredAgentIsCountedBeforeTheNextRebuild() {
+        index.registerAgent(3L);
+        index.loadChanged(3L, 1);
+
+        assertThat(index.getAgentCount()).isEqualTo(3);
+        assertThat(index.getLoad(3L)).isEqualTo(1);
+    }
+
+    @Test
+    void agentRegisteredDuringTheReadIsKept() {
+        duringRead = () -> index.registerAgent(3L);
+
+        // The read predates the role grant, so only the registration puts the agent in the rebuilt heap
+        index.rebuild();
+
+        assertThat(index.getLoad(3L)).isZero();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
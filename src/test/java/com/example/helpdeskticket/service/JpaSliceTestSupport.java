@@ -0,0 +1,55 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Role;
+import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.LocationRepository;
+import com.example.helpdeskticket.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+// Shared setup of the H2 JPA slice tests: schema from the entities, Hibernate statistics for counting
+// statements, and fixture factories that work with or without a test transaction
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+abstract class JpaSliceTestSupport {
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    @Autowired
+    protected LocationRepository locationRepository;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    protected Statistics statistics;
+
+    @BeforeEach
+    void setUpStatistics() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Saves the location with its materialized path, which needs the generated id
+    protected Location saveLocation(String name, String code, Location parent, int level) {
+        Location location = locationRepository.save(new Location(name, code, parent, level, null, null, false));
+        location.setPath((parent != null ? parent.getPath() : "/") + location.getId() + "/");
+        return locationRepository.save(location);
+    }
+
+    protected User saveUser(String email, Location location, Role... roles) {
+        User user = new User(email, "secret", "Test", "User", location, null, null, false);
+        user.getRoles().addAll(List.of(roles));
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// With the in-memory hierarchy index disabled, hierarchy lookups run the recursive CTEs of LocationRepository.
+// Soft-deleted locations and their subtrees are left out.
+@Import({LocationService.class, LocationNameIndex.class, ReferenceDataCache.class})
+@TestPropertySource(properties = "helpdesk.locations.hierarchy-index.enabled=false")
+class LocationHierarchyQueryTests extends JpaSliceTestSupport {
+
+    @Autowired
+    private LocationService locationService;
+
+    @MockitoBean
+    private LocationHierarchyIndex hierarchyIndex;
+
+    private Location province;
+    private Location district;
+    private Location village;
+
+    @BeforeEach
+    void setUp() {
+        province = saveLocation("Kigali City", "01", null, 1);
+        district = saveLocation("Gasabo", null, province, 2);
+        saveLocation("Nyarugenge", null, province, 2);
+        Location sector = saveLocation("Remera", null, district, 3);
+        village = saveLocation("Rukiri", null, sector, 4);
+        Location deleted = locationRepository.save(new Location("Kacyiru", null, district, 3, null, null, true));
+        locationRepository.save(new Location("Kamutwa", null, deleted, 4, null, null, false));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void fullHierarchyListsTheSubtreeParentsFirst() {
+        assertThat(locationService.findFullHierarchy(province.getId())).extracting(Location::getName)
+                .containsExactly("Kigali City", "Gasabo", "Nyarugenge", "Remera", "Rukiri");
+        verifyNoInteractions(hierarchyIndex);
+    }
+
+    @Test
+    void ancestorsRunFromTheParentUpToTheProvince() {
+        assertThat(locationService.findAncestors(village.getId())).extracting(Location::getName)
+                .containsExactly("Remera", "Gasabo", "Kigali City");
+        verifyNoInteractions(hierarchyIndex);
+    }
+
+    @Test
+    void provinceResolvesFromAnyDepth() {
+        assertThat(locationService.findProvinceByChildLocation(village.getId())).map(Location::getName)
+                .contains("Kigali City");
+        assertThat(locationService.findProvinceByChildLocation(province.getId())).map(Location::getName)
+                .contains("Kigali City");
+        verifyNoInteractions(hierarchyIndex);
+    }
+
+    @Test
+    void descendantCheckFollowsTheAncestry() {
+        assertThat(locationService.isDescendantOf(village.getId(), district.getId())).isTrue();
+        assertThat(locationService.isDescendantOf(district.getId(), village.getId())).isFalse();
+        verifyNoInteractions(hierarchyIndex);
+    }
+}
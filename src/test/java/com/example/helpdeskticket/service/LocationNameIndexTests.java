@@ -0,0 +1,43 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.repository.LocationRepository;
+import com.example.helpdeskticket.repository.projection.LocationName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Short and long queries both match anywhere in the name, like the database fallback (name contains query)
+class LocationNameIndexTests {
+
+    private LocationNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        LocationRepository locationRepository = mock(LocationRepository.class);
+        when(locationRepository.findAllNames()).thenReturn(List.of(
+                new LocationName(1L, "Kigali City", 1),
+                new LocationName(2L, "Nyarugenge", 2),
+                new LocationName(3L, "Kicukiro", 2),
+                new LocationName(4L, "Gikondo", 3),
+                new LocationName(5L, "Rukiri", 3)));
+        index = new LocationNameIndex(locationRepository);
+    }
+
+    @Test
+    void shortQueryMatchesPrefixesWordPrefixesAndInfixes() {
+        // Name prefixes first (province before district), then infixes
+        assertThat(index.search("ki", 10)).containsExactly(1L, 3L, 5L);
+        assertThat(index.search("c", 10)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void longQueryUsesTheSameMatchRule() {
+        assertThat(index.search("kir", 10)).containsExactly(3L, 5L);
+        assertThat(index.search("city", 10)).containsExactly(1L);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.config.SecurityConfig;
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Materialized paths kept by LocationService: set on insert under the parent's path, and re-prefixed for the
+// whole subtree when a location moves. Province-scoped user queries match on those paths. The hierarchy
+// index is left out (its rebuilds only run after commit), so hierarchy checks use the recursive queries.
+@Import({LocationService.class, LocationNameIndex.class, ReferenceDataCache.class, UserService.class,
+        SecurityConfig.class})
+@TestPropertySource(properties = "helpdesk.locations.hierarchy-index.enabled=false")
+class LocationPathMaintenanceTests extends JpaSliceTestSupport {
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private LocationHierarchyIndex hierarchyIndex;
+
+    private Location kigali;
+    private Location eastern;
+    private Location district;
+    private Location sector;
+    private Location village;
+
+    @BeforeEach
+    void setUp() {
+        kigali = locationService.save(new Location("Kigali City", "01", null, 1, null, null, false));
+        eastern = locationService.save(new Location("Eastern", "05", null, 1, null, null, false));
+        district = locationService.save(new Location("Gasabo", null, kigali, 2, null, null, false));
+        sector = locationService.save(new Location("Remera", null, district, 3, null, null, false));
+        village = locationService.save(new Location("Rukiri", null, sector, 4, null, null, false));
+        saveUser("villager@example.com", village);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void insertedLocationsExtendTheirParentsPath() {
+        assertThat(pathOf(kigali)).isEqualTo("/" + kigali.getId() + "/");
+        assertThat(pathOf(village)).isEqualTo("/" + kigali.getId() + "/" + district.getId() + "/" + sector.getId() + "/"
+                + village.getId() + "/");
+    }
+
+    @Test
+    void movedDistrictTakesItsSubtreeAlong() {
+        Location moved = new Location("Gasabo", null, locationRepository.findById(eastern.getId()).orElseThrow(), 2,
+                null, null, false);
+        locationService.update(district.getId(), moved);
+        entityManager.flush();
+        entityManager.clear();
+
+        String districtPath = "/" + eastern.getId() + "/" + district.getId() + "/";
+        assertThat(pathOf(district)).isEqualTo(districtPath);
+        assertThat(pathOf(sector)).isEqualTo(districtPath + sector.getId() + "/");
+        assertThat(pathOf(village)).isEqualTo(districtPath + sector.getId() + "/" + village.getId() + "/");
+        // The province above is untouched
+        assertThat(pathOf(kigali)).isEqualTo("/" + kigali.getId() + "/");
+    }
+
+    @Test
+    void provinceUserQueryFollowsTheMove() {
+        assertThat(userService.findByProvinceCodeOrName("01")).extracting(User::getEmail)
+                .containsExactly("villager@example.com");
+
+        Location moved = new Location("Gasabo", null, locationRepository.findById(eastern.getId()).orElseThrow(), 2,
+                null, null, false);
+        locationService.update(district.getId(), moved);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(userService.findByProvinceCodeOrName("01")).isEmpty();
+        assertThat(userService.findByProvinceCodeOrName("05")).extracting(User::getEmail)
+                .containsExactly("villager@example.com");
+    }
+
+    private String pathOf(Location location) {
+        return locationRepository.findPathById(location.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.helpdeskticket.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The block upsert is PostgreSQL-only (ON CONFLICT ... RETURNING), so it runs against the Flyway schema on a
+// PostgreSQL container; skipped where Docker is not available. Reservations commit on their own, so the test
+// runs without a transaction of its own.
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueueNumberBlockStore.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueueNumberBlockStoreTests {
+
+    private static final int BLOCK_SIZE = 20;
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 16);
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private QueueNumberBlockStore blockStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long branchId;
+
+    @BeforeEach
+    void setUp() {
+        branchId = insertLocation(false);
+    }
+
+    @Test
+    void consecutiveReservationsHandOutConsecutiveBlocks() {
+        // First block 1..20, then 21..40
+        assertThat(blockStore.reserveBlock(branchId, TODAY, BLOCK_SIZE)).isEqualTo(20);
+        assertThat(blockStore.reserveBlock(branchId, TODAY, BLOCK_SIZE)).isEqualTo(40);
+        // A new day starts over
+        assertThat(blockStore.reserveBlock(branchId, TODAY.plusDays(1), BLOCK_SIZE)).isEqualTo(20);
+    }
+
+    @Test
+    void deletedLocationGetsNoBlock() {
+        long deletedId = insertLocation(true);
+
+        assertThat(blockStore.reserveBlock(deletedId, TODAY, BLOCK_SIZE)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM queue_number_blocks WHERE location_id = ?",
+                Long.class, deletedId)).isZero();
+    }
+
+    @Test
+    void unknownLocationGetsNoBlock() {
+        assertThat(blockStore.reserveBlock(Long.MAX_VALUE, TODAY, BLOCK_SIZE)).isNull();
+    }
+
+    private long insertLocation(boolean deleted) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO locations (id, name, level, is_deleted) VALUES (nextval('locations_seq'), 'Branch', 1, ?) " +
+                "RETURNING id",
+                Long.class, deleted);
+    }
+}
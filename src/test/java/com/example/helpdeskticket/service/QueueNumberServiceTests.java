@@ -0,0 +1,104 @@
+package com.example.helpdeskticket.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Queue numbers from several instances sharing one counter table (the block upsert is simulated per
+// location), issued concurrently: every number is unique per branch and each thread sees them increase.
+class QueueNumberServiceTests {
+
+    private static final int BLOCK_SIZE = 20;
+    private static final long UNKNOWN_LOCATION = 99L;
+
+    private final Map<Long, AtomicInteger> counterRows = new ConcurrentHashMap<>();
+    private final AtomicInteger reservations = new AtomicInteger();
+    private QueueNumberBlockStore blockStore;
+
+    @BeforeEach
+    void setUp() {
+        blockStore = mock(QueueNumberBlockStore.class);
+        when(blockStore.reserveBlock(anyLong(), any(LocalDate.class), anyInt())).thenAnswer(invocation -> {
+            Long locationId = invocation.getArgument(0);
+            if (locationId == UNKNOWN_LOCATION) {
+                return null;
+            }
+            reservations.incrementAndGet();
+            int blockSize = invocation.getArgument(2);
+            return counterRows.computeIfAbsent(locationId, id -> new AtomicInteger()).addAndGet(blockSize);
+        });
+    }
+
+    @Test
+    void numbersAreUniqueAcrossInstancesAndIncreasePerThread() throws Exception {
+        List<QueueNumberService> instances = List.of(newInstance(), newInstance(), newInstance());
+        int threads = 8;
+        int perThread = 2_000;
+        long[] branches = {1L, 2L, 3L};
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Map<Long, Set<Integer>> issued = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            QueueNumberService service = instances.get(t % instances.size());
+            futures.add(executor.submit(() -> {
+                int[] lastSeen = new int[branches.length];
+                for (int i = 0; i < perThread; i++) {
+                    int b = i % branches.length;
+                    QueueNumberService.QueueNumber number = service.issue(branches[b]);
+                    assertThat(number.number()).isGreaterThan(lastSeen[b]);
+                    lastSeen[b] = number.number();
+                    assertThat(issued.computeIfAbsent(branches[b], id -> ConcurrentHashMap.newKeySet())
+                            .add(number.number())).isTrue();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        int total = issued.values().stream().mapToInt(Set::size).sum();
+        assertThat(total).isEqualTo(threads * perThread);
+        // One round trip per block, plus at most one partly used block per instance and branch
+        assertThat(reservations.get())
+                .isLessThanOrEqualTo(total / BLOCK_SIZE + instances.size() * branches.length);
+    }
+
+    @Test
+    void unknownBranchIsRejected() {
+        QueueNumberService service = newInstance();
+
+        assertThatThrownBy(() -> service.issue(UNKNOWN_LOCATION)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.issue(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void stripeCountIsRoundedToAPowerOfTwo() {
+        QueueNumberService service = new QueueNumberService(blockStore, BLOCK_SIZE, 10);
+
+        assertThat(service.getStripeCount()).isEqualTo(16);
+    }
+
+    private QueueNumberService newInstance() {
+        return new QueueNumberService(blockStore, BLOCK_SIZE, 4);
+    }
+}
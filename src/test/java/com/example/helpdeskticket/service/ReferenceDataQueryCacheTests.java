@@ -0,0 +1,42 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Role;
+import com.example.helpdeskticket.repository.RoleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The cached-query meta-annotations carry the cacheable/region hints: a repeated lookup is a query cache hit.
+// Runs without a test transaction: the query cache is bypassed while the same transaction has pending writes.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataQueryCacheTests extends JpaSliceTestSupport {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void repeatedRoleLookupHitsTheRoleRegion() {
+        roleRepository.save(new Role("AGENT", null, null, false));
+        statistics.clear();
+
+        roleRepository.findByName("AGENT");
+        roleRepository.findByName("AGENT");
+
+        assertThat(statistics.getQueryRegionStatistics(Role.QUERY_CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedLocationLookupHitsTheLocationRegion() {
+        locationRepository.save(new Location("Kigali City", "01", null, 1, null, null, false));
+        statistics.clear();
+
+        locationRepository.findByName("Kigali City");
+        locationRepository.findByName("Kigali City");
+
+        assertThat(statistics.getQueryRegionStatistics(Location.QUERY_CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+}
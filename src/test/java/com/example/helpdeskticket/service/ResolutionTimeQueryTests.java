@@ -0,0 +1,85 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Ticket;
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.TicketRepository;
+import com.example.helpdeskticket.repository.projection.ResolutionTimeSummary;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// The average resolution time endpoint keeps counting each ticket in whole hours (truncated, like
+// Duration.toHours); the resolution time statistics report fractional hours. The aggregates are
+// PostgreSQL-only, so this runs on a PostgreSQL container; skipped where Docker is not available.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ResolutionTimeQueryTests {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 10, 1, 8, 0);
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Location province = new Location("Kigali City", "01", null, 1, null, null, false);
+        entityManager.persist(province);
+        User user = new User("resolution@example.com", "secret", "Resolution", "User", province, null, null, false);
+        entityManager.persist(user);
+
+        // 1 h 30 min and 2 h 50 min
+        closedTicket(user, "Printer jammed", CREATED.plusMinutes(90));
+        closedTicket(user, "VPN down", CREATED.plusMinutes(170));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void averageCountsWholeHoursPerTicket() {
+        // (1 + 2) / 2
+        assertThat(ticketRepository.findAverageWholeResolutionHoursByStatus(TicketStatus.CLOSED.name()))
+                .isEqualTo(1.5, within(1e-9));
+    }
+
+    @Test
+    void summaryReportsFractionalHours() {
+        ResolutionTimeSummary summary = ticketRepository.summarizeResolutionTimeByStatus(TicketStatus.CLOSED.name());
+
+        assertThat(summary.getTicketCount()).isEqualTo(2);
+        // (1.5 + 2.8333) / 2
+        assertThat(summary.getAverageHours()).isEqualTo(130.0 / 60, within(1e-9));
+    }
+
+    private void closedTicket(User user, String title, LocalDateTime resolvedAt) {
+        Ticket ticket = new Ticket(title, null, TicketStatus.CLOSED, user, null, resolvedAt, null, false);
+        entityManager.persist(ticket);
+        entityManager.flush();
+        // createdAt is set by @CreationTimestamp and not updatable through the entity
+        entityManager.createNativeQuery("UPDATE tickets SET created_at = ?1 WHERE id = ?2")
+                .setParameter(1, CREATED)
+                .setParameter(2, ticket.getId())
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.repository.TicketArchiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Archive chunking against SKIP LOCKED: a short chunk is not the end, and rows left locked elsewhere make
+// the run incomplete. Runs outside the advisory lock are refused.
+class TicketArchiveServiceTests {
+
+    private static final int BATCH_SIZE = 3;
+    private static final LocalDateTime DELETED_BEFORE = LocalDateTime.of(2026, 9, 1, 0, 0);
+    private static final LocalDateTime CLOSED_BEFORE = LocalDateTime.of(2026, 4, 1, 0, 0);
+
+    private TicketArchiveRepository ticketArchiveRepository;
+    private AdvisoryLock advisoryLock;
+    private TicketArchiveService service;
+
+    @BeforeEach
+    void setUp() {
+        ticketArchiveRepository = mock(TicketArchiveRepository.class);
+        when(ticketArchiveRepository.moveToArchive(anyCollection()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        advisoryLock = mock(AdvisoryLock.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        service = new TicketArchiveService(ticketArchiveRepository, mock(TicketStatusCounters.class),
+                advisoryLock, transactionManager, BATCH_SIZE, 60_000);
+    }
+
+    @Test
+    void shortChunkDoesNotEndThePhase() {
+        // Second chunk is short because another transaction holds a row; the third still finds work
+        when(ticketArchiveRepository.lockDeletedBatch(DELETED_BEFORE, BATCH_SIZE))
+                .thenReturn(List.of(1L, 2L, 3L), List.of(4L), List.of(6L), List.of());
+        when(ticketArchiveRepository.lockClosedBatch(CLOSED_BEFORE, BATCH_SIZE))
+                .thenReturn(List.of(10L), List.of());
+
+        TicketArchiveService.ArchiveResult result = service.archive(DELETED_BEFORE, CLOSED_BEFORE);
+
+        assertThat(result.getDeletedTicketsArchived()).isEqualTo(5);
+        assertThat(result.getClosedTicketsArchived()).isEqualTo(1);
+        assertThat(result.getBatches()).isEqualTo(6);
+        assertThat(result.isComplete()).isTrue();
+    }
+
+    @Test
+    void rowsStillLockedElsewhereMakeTheRunIncomplete() {
+        when(ticketArchiveRepository.lockDeletedBatch(DELETED_BEFORE, BATCH_SIZE)).thenReturn(List.of());
+        when(ticketArchiveRepository.lockClosedBatch(CLOSED_BEFORE, BATCH_SIZE)).thenReturn(List.of());
+        when(ticketArchiveRepository.existsDeletedBefore(DELETED_BEFORE)).thenReturn(true);
+
+        TicketArchiveService.ArchiveResult result = service.archive(DELETED_BEFORE, CLOSED_BEFORE);
+
+        assertThat(result.getArchivedTickets()).isZero();
+        assertThat(result.isComplete()).isFalse();
+    }
+
+    @Test
+    void busyLockSkipsTheRun() {
+        when(advisoryLock.runExclusively(anyLong(), any())).thenReturn(Optional.empty());
+
+        Optional<TicketArchiveService.ArchiveResult> result = service.archiveExclusively(DELETED_BEFORE, CLOSED_BEFORE);
+
+        assertThat(result).isEmpty();
+        verify(ticketArchiveRepository, never()).lockDeletedBatch(any(LocalDateTime.class), anyInt());
+    }
+
+    @Test
+    void acquiredLockRunsTheArchive() {
+        when(advisoryLock.runExclusively(anyLong(), any()))
+                .thenAnswer(invocation -> Optional.of(invocation.<Supplier<?>>getArgument(1).get()));
+        when(ticketArchiveRepository.lockDeletedBatch(DELETED_BEFORE, BATCH_SIZE)).thenReturn(List.of(1L), List.of());
+        when(ticketArchiveRepository.lockClosedBatch(CLOSED_BEFORE, BATCH_SIZE)).thenReturn(List.of());
+
+        Optional<TicketArchiveService.ArchiveResult> result = service.archiveExclusively(DELETED_BEFORE, CLOSED_BEFORE);
+
+        assertThat(result).hasValueSatisfying(run -> {
+            assertThat(run.getDeletedTicketsArchived()).isEqualTo(1);
+            assertThat(run.isComplete()).isTrue();
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Ticket;
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A title collision found only by the unique index (as with a concurrent create) fails the colliding item,
+// not the batch. H2 has no partial indexes, so a plain unique index plus a soft-deleted ticket, which the
+// duplicate query does not see, stands in for the concurrent insert.
+@Import({TicketService.class, TicketStatusCounters.class, TicketBulkTransitionService.class, TicketTitleFilter.class,
+        TicketArchiveService.class, AdvisoryLock.class, EntityDetacher.class, AgentWorkloadIndex.class,
+        QueueNumberService.class, QueueNumberBlockStore.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TicketBatchCreateTests extends JpaSliceTestSupport {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + TicketRepository.TITLE_HASH_UNIQUE_INDEX +
+                " ON tickets (user_id, title_hash)");
+        Location province = saveLocation("Kigali City", "01", null, 1);
+        user = saveUser("batch-" + System.nanoTime() + "@example.com", province);
+        Ticket deleted = ticketRepository.save(ticket("Printer jammed"));
+        jdbcTemplate.update("UPDATE tickets SET is_deleted = true WHERE id = ?", deleted.getId());
+    }
+
+    @Test
+    void collidingItemIsReportedAndTheRestAreCreated() {
+        TicketService.BatchCreateResult result = ticketService.createTickets(
+                List.of(ticket("VPN down"), ticket("Printer jammed"), ticket("Email bounces")));
+
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.items().get(1).error()).contains("already exists");
+        assertThat(result.items().get(0).ticketId()).isNotNull();
+        assertThat(result.items().get(2).ticketId()).isNotNull();
+        assertThat(ticketRepository.findAllById(List.of(result.items().get(0).ticketId(), result.items().get(2).ticketId())))
+                .extracting(Ticket::getTitle)
+                .containsExactlyInAnyOrder("VPN down", "Email bounces");
+    }
+
+    private Ticket ticket(String title) {
+        return new Ticket(title, null, TicketStatus.OPEN, user, null, null, null, false);
+    }
+}
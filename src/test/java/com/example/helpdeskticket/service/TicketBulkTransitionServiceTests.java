@@ -0,0 +1,84 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Bulk transition chunking against SKIP LOCKED: a chunk that locks nothing ends the run, and candidates
+// still held by other transactions make it incomplete. Auto-close runs outside the advisory lock are refused.
+class TicketBulkTransitionServiceTests {
+
+    private static final int BATCH_SIZE = 3;
+    private static final String RESOLVED = TicketStatus.RESOLVED.name();
+    private static final String CLOSED = TicketStatus.CLOSED.name();
+    private static final LocalDateTime RESOLVED_BEFORE = LocalDateTime.of(2026, 9, 1, 0, 0);
+
+    private TicketRepository ticketRepository;
+    private AdvisoryLock advisoryLock;
+    private TicketBulkTransitionService service;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        advisoryLock = mock(AdvisoryLock.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        service = new TicketBulkTransitionService(ticketRepository, mock(TicketStatusCounters.class),
+                mock(AgentWorkloadIndex.class), advisoryLock, transactionManager,
+                BATCH_SIZE, 60_000);
+    }
+
+    @Test
+    void emptyChunkWithCandidatesLeftStopsIncomplete() {
+        // Every remaining candidate is locked by another transaction
+        when(ticketRepository.transitionStatusBatch(RESOLVED, CLOSED, BATCH_SIZE)).thenReturn(0);
+        when(ticketRepository.existsByStatus(TicketStatus.RESOLVED)).thenReturn(true);
+
+        TicketBulkTransitionService.BulkTransitionResult result =
+                service.transition(TicketStatus.RESOLVED, TicketStatus.CLOSED, null);
+
+        assertThat(result.getAffectedTickets()).isZero();
+        assertThat(result.getBatches()).isZero();
+        assertThat(result.isComplete()).isFalse();
+        verify(ticketRepository, times(1)).transitionStatusBatch(RESOLVED, CLOSED, BATCH_SIZE);
+    }
+
+    @Test
+    void shortChunkDoesNotEndTheRun() {
+        when(ticketRepository.transitionStatusBatchResolvedBefore(RESOLVED, CLOSED, RESOLVED_BEFORE, BATCH_SIZE))
+                .thenReturn(3, 1, 2, 0);
+
+        TicketBulkTransitionService.BulkTransitionResult result =
+                service.transition(TicketStatus.RESOLVED, TicketStatus.CLOSED, RESOLVED_BEFORE);
+
+        assertThat(result.getAffectedTickets()).isEqualTo(6);
+        assertThat(result.getBatches()).isEqualTo(3);
+        assertThat(result.isComplete()).isTrue();
+    }
+
+    @Test
+    void busyLockSkipsTheAutoClose() {
+        when(advisoryLock.runExclusively(anyLong(), any())).thenReturn(Optional.empty());
+
+        Optional<TicketBulkTransitionService.BulkTransitionResult> result = service.autoCloseExclusively(RESOLVED_BEFORE);
+
+        assertThat(result).isEmpty();
+        verify(ticketRepository, never()).transitionStatusBatchResolvedBefore(anyString(), anyString(),
+                any(LocalDateTime.class), anyInt());
+    }
+}
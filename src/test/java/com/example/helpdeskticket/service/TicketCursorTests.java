@@ -0,0 +1,26 @@
+package com.example.helpdeskticket.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TicketCursorTests {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        TicketCursor cursor = new TicketCursor(LocalDateTime.of(2026, 3, 1, 9, 30, 15, 123_456_000), 42L);
+
+        assertThat(TicketCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void positionWithoutCreationTimeIsNotEncoded() {
+        TicketCursor cursor = new TicketCursor(null, 42L);
+
+        // Encoding it would hand the client a cursor that decode rejects on the next page
+        assertThatThrownBy(cursor::encode).isInstanceOf(IllegalStateException.class);
+    }
+}
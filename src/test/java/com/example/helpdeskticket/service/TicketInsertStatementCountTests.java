@@ -0,0 +1,68 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Ticket;
+import com.example.helpdeskticket.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Round trips of one-at-a-time creates (one INSERT per ticket) against batch creation on pooled sequence ids
+// with JDBC batching. Creates commit their own transaction, so the test runs without one and seeds a fresh
+// user per test.
+@Import({TicketService.class, TicketStatusCounters.class, TicketBulkTransitionService.class, TicketTitleFilter.class,
+        TicketArchiveService.class, AdvisoryLock.class, EntityDetacher.class, AgentWorkloadIndex.class,
+        QueueNumberService.class, QueueNumberBlockStore.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TicketInsertStatementCountTests extends JpaSliceTestSupport {
+
+    private static final int TICKETS = 500;
+
+    @Autowired
+    private TicketService ticketService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Location province = saveLocation("Kigali City", "01", null, 1);
+        user = saveUser("bench-" + System.nanoTime() + "@example.com", province);
+        statistics.clear();
+    }
+
+    @Test
+    void singleCreatesNeedAnInsertRoundTripPerTicket() {
+        for (int i = 0; i < TICKETS; i++) {
+            ticketService.createTicket(ticket("single " + i));
+        }
+
+        // Duplicate lookup and insert for every ticket
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThanOrEqualTo(2L * TICKETS);
+    }
+
+    @Test
+    void batchCreateUsesPooledIdsAndJdbcBatches() {
+        List<Ticket> tickets = new ArrayList<>(TICKETS);
+        for (int i = 0; i < TICKETS; i++) {
+            tickets.add(ticket("batch " + i));
+        }
+
+        TicketService.BatchCreateResult result = ticketService.createTickets(tickets);
+
+        assertThat(result.created()).isEqualTo(TICKETS);
+        // User check + duplicate check + one sequence call and one insert batch per 50 tickets
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2 + 2L * TICKETS / 50);
+    }
+
+    private Ticket ticket(String title) {
+        return new Ticket(title, "Printer on floor 2 is jammed", null, user, null, null, null, false);
+    }
+}
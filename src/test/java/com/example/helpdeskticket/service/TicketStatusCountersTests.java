@@ -0,0 +1,77 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.repository.TicketRepository;
+import com.example.helpdeskticket.repository.projection.TicketStatusCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Per-user counters are loaded outside the cache: a change applied while the query runs is not lost,
+// because the load it may have missed is not kept. Global counters replay such a change onto the reconciled counts.
+class TicketStatusCountersTests {
+
+    private static final Long USER_ID = 7L;
+
+    private TicketRepository ticketRepository;
+    private TicketStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        counters = new TicketStatusCounters(ticketRepository, 100);
+    }
+
+    @Test
+    void loadedCountsAreKept() {
+        when(ticketRepository.countTicketsByUserIdGroupedByStatus(USER_ID))
+                .thenReturn(List.of(new TicketStatusCount(TicketStatus.OPEN, 2)));
+
+        counters.getUserStatistics(USER_ID);
+        counters.ticketCreated(USER_ID, TicketStatus.OPEN);
+
+        assertThat(counters.getUserStatistics(USER_ID).getOpenTickets()).isEqualTo(3);
+        verify(ticketRepository, times(1)).countTicketsByUserIdGroupedByStatus(USER_ID);
+    }
+
+    @Test
+    void changeDuringTheLoadIsNotLost() {
+        // The first query reads before the new ticket commits; the change is applied while it runs
+        when(ticketRepository.countTicketsByUserIdGroupedByStatus(USER_ID))
+                .thenAnswer(invocation -> {
+                    counters.ticketCreated(USER_ID, TicketStatus.OPEN);
+                    return List.of();
+                })
+                .thenReturn(List.of(new TicketStatusCount(TicketStatus.OPEN, 1)));
+
+        counters.getUserStatistics(USER_ID);
+
+        assertThat(counters.getUserStatistics(USER_ID).getOpenTickets()).isEqualTo(1);
+        verify(ticketRepository, times(2)).countTicketsByUserIdGroupedByStatus(USER_ID);
+    }
+
+    @Test
+    void changeDuringReconciliationIsReplayed() {
+        // The query reads before the ticket is resolved; the change is applied while it runs
+        when(ticketRepository.countTicketsGroupedByStatus())
+                .thenReturn(List.of(new TicketStatusCount(TicketStatus.OPEN, 2)))
+                .thenAnswer(invocation -> {
+                    counters.statusChanged(USER_ID, TicketStatus.OPEN, TicketStatus.RESOLVED);
+                    return List.of(new TicketStatusCount(TicketStatus.OPEN, 2));
+                });
+
+        counters.reconcile();
+        counters.reconcile();
+
+        TicketService.TicketStatistics statistics = counters.getOverallStatistics();
+        assertThat(statistics.getOpenTickets()).isEqualTo(1);
+        assertThat(statistics.getResolvedTickets()).isEqualTo(1);
+    }
+}
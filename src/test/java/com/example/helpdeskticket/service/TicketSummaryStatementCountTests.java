@@ -0,0 +1,86 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Ticket;
+import com.example.helpdeskticket.model.TicketStatus;
+import com.example.helpdeskticket.model.User;
+import com.example.helpdeskticket.repository.TicketRepository;
+import com.example.helpdeskticket.repository.projection.TicketSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Summary list pages and cursor slices: one statement per page, no COUNT query
+class TicketSummaryStatementCountTests extends JpaSliceTestSupport {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @BeforeEach
+    void setUp() {
+        Location province = saveLocation("Kigali City", "01", null, 1);
+        User user = saveUser("summary@example.com", province);
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new Ticket("Ticket " + i, null, TicketStatus.OPEN, user, null, null, null, false));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void firstPageUsesOneStatementAndKnowsThereIsMore() {
+        Slice<TicketSummary> slice = ticketRepository.findAllSummaries(PageRequest.of(0, 2));
+
+        assertThat(slice.getContent()).hasSize(2);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lastPageUsesOneStatementAndHasNoNext() {
+        Slice<TicketSummary> slice = ticketRepository.findSummariesByStatus(TicketStatus.OPEN, PageRequest.of(2, 2));
+
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cursorSliceContinuesAfterTheLastSummary() {
+        Slice<TicketSummary> first = ticketRepository.findAllSummaries(PageRequest.of(0, 3));
+        TicketCursor cursor = TicketCursor.of(first.getContent().get(2));
+        Slice<TicketSummary> rest = ticketRepository.findSummariesAfterCursor(cursor.createdAt(), cursor.id(),
+                PageRequest.of(0, 3));
+
+        List<Long> firstIds = first.getContent().stream().map(TicketSummary::id).toList();
+        assertThat(rest.getContent()).hasSize(2)
+                .extracting(TicketSummary::id).doesNotContainAnyElementsOf(firstIds);
+        assertThat(rest.hasNext()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void summariesByIdCarryTheAssigneeWithoutLoadingIt() {
+        User agent = saveUser("agent@example.com", locationRepository.findAll().get(0));
+        Ticket ticket = ticketRepository.findAll().get(0);
+        ticket.setAssignee(agent);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<TicketSummary> summaries = ticketRepository.findSummariesByIdIn(List.of(ticket.getId()));
+
+        assertThat(summaries).singleElement().satisfies(summary -> {
+            assertThat(summary.assigneeId()).isEqualTo(agent.getId());
+            assertThat(summary.user().email()).isEqualTo("summary@example.com");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
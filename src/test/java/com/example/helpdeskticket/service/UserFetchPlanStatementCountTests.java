@@ -0,0 +1,93 @@
+package com.example.helpdeskticket.service;
+
+import com.example.helpdeskticket.config.SecurityConfig;
+import com.example.helpdeskticket.model.Location;
+import com.example.helpdeskticket.model.Role;
+import com.example.helpdeskticket.repository.UserFetchPlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({UserService.class, SecurityConfig.class})
+class UserFetchPlanStatementCountTests extends JpaSliceTestSupport {
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        Location province = saveLocation("Kigali City", "01", null, 1);
+        Location district = saveLocation("Gasabo", null, province, 2);
+        Location sector = saveLocation("Remera", null, district, 3);
+        Location village = saveLocation("Rukiri", null, sector, 4);
+
+        Role agent = new Role("AGENT", null, null, false);
+        Role customer = new Role("CUSTOMER", null, null, false);
+        entityManager.persist(agent);
+        entityManager.persist(customer);
+
+        for (int i = 0; i < 5; i++) {
+            saveUser("user" + i + "@example.com", i % 2 == 0 ? village : district, agent, customer);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void summaryPlanIssuesPageAndCountOnly() {
+        Page<UserView> users = userService.findAll(PageRequest.of(0, 3), UserFetchPlan.SUMMARY);
+
+        assertThat(users.getContent()).hasSize(3);
+        assertThat(users.getContent()).allSatisfy(user -> assertThat(user.roles()).isNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void withRolesPlanLoadsRolesForWholePageInOneStatement() {
+        Page<UserView> users = userService.findAll(PageRequest.of(0, 3), UserFetchPlan.WITH_ROLES);
+
+        assertThat(users.getContent()).allSatisfy(user -> assertThat(user.roles()).containsExactly("AGENT", "CUSTOMER"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void withLocationPathPlanJoinsTheWholeAncestry() {
+        Page<UserView> users = userService.findAll(PageRequest.of(0, 5), UserFetchPlan.WITH_LOCATION_PATH);
+
+        UserView villager = users.getContent().stream()
+                .filter(user -> user.email().equals("user0@example.com"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(villager.locationPath()).extracting("name")
+                .containsExactly("Rukiri", "Remera", "Gasabo", "Kigali City");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void provinceQueryWithRolesUsesPathLookupThenTwoStatements() {
+        List<UserView> users = userService.findByProvinceCodeOrName("01", UserFetchPlan.WITH_ROLES);
+
+        // The whole province subtree matches, whatever the depth of the user's location
+        assertThat(users).hasSize(5);
+        assertThat(users).allSatisfy(user -> assertThat(user.roles()).containsExactly("AGENT", "CUSTOMER"));
+        // Province path, users by path prefix, roles
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void provinceOfUserResolvesFromThePathPrefix() {
+        Long villagerId = entityManager.createQuery("SELECT u.id FROM User u WHERE u.email = 'user0@example.com'", Long.class)
+                .getSingleResult();
+
+        assertThat(userService.findProvinceByUserVillage(villagerId)).map(Location::getName).contains("Kigali City");
+    }
+}
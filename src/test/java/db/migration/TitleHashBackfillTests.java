@@ -0,0 +1,18 @@
+package db.migration;
+
+import com.example.helpdeskticket.model.Ticket;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// V5 keeps its own copy of the title hash. If this fails, Ticket.normalizedTitleHash has changed: add a
+// migration that rehashes existing tickets instead of editing V5.
+class TitleHashBackfillTests {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Printer jammed", "  PRINTER   jammed ", "Ｗｉ－Ｆｉ down", "Écran noir\tau bureau 3"})
+    void frozenHashMatchesTheApplicationHash(String title) {
+        assertThat(V5__Backfill_ticket_title_hashes.titleHash(title)).isEqualTo(Ticket.normalizedTitleHash(title));
+    }
+}